@@ -0,0 +1,154 @@
+package com.realestate.gateway.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded LRU of public property responses (single properties and listings), keyed by
+ * normalised path and query. Entries expire after a TTL; property-service purges them
+ * through the internal invalidation endpoint when a property changes. Published as
+ * gateway.response-cache.* metrics.
+ */
+@Component
+public class PropertyResponseCache {
+    
+    private static final Logger log = LoggerFactory.getLogger(PropertyResponseCache.class);
+    
+    private final int maxSize;
+    private final long ttlMillis;
+    private final int maxBodyBytes;
+    
+    private final LinkedHashMap<String, CachedResponse> entries;
+    
+    // Incremented on every purge so that responses fetched before it are not stored
+    private final AtomicLong generation = new AtomicLong();
+    
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter sizeEvictions;
+    private final Counter expiredEvictions;
+    private final Counter invalidations;
+    
+    public PropertyResponseCache(
+            MeterRegistry meterRegistry,
+            @Value("${gateway.response-cache.max-size:2000}") int maxSize,
+            @Value("${gateway.response-cache.ttl-seconds:30}") long ttlSeconds,
+            @Value("${gateway.response-cache.max-body-bytes:262144}") int maxBodyBytes) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxBodyBytes = maxBodyBytes;
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                if (size() > PropertyResponseCache.this.maxSize) {
+                    PropertyResponseCache.this.sizeEvictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        
+        this.hits = meterRegistry.counter("gateway.response-cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("gateway.response-cache.requests", "result", "miss");
+        this.sizeEvictions = meterRegistry.counter("gateway.response-cache.evictions", "cause", "size");
+        this.expiredEvictions = meterRegistry.counter("gateway.response-cache.evictions", "cause", "expired");
+        this.invalidations = meterRegistry.counter("gateway.response-cache.evictions", "cause", "invalidated");
+        Gauge.builder("gateway.response-cache.size", this, PropertyResponseCache::size).register(meterRegistry);
+    }
+    
+    public CachedResponse get(String key) {
+        synchronized (entries) {
+            CachedResponse entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAt() > System.currentTimeMillis()) {
+                    hits.increment();
+                    return entry;
+                }
+                entries.remove(key);
+                expiredEvictions.increment();
+            }
+        }
+        misses.increment();
+        return null;
+    }
+    
+    /**
+     * Generation to pass to {@link #put} once the upstream response has arrived.
+     */
+    public long currentGeneration() {
+        return generation.get();
+    }
+    
+    /**
+     * Stores the response unless it is too large or a purge happened since the request
+     * was forwarded (loadGeneration), in which case the body may already be stale.
+     */
+    public void put(String key, Long propertyId, MediaType contentType, byte[] body, String etag, long loadGeneration) {
+        if (body.length > maxBodyBytes) {
+            return;
+        }
+        CachedResponse entry = new CachedResponse(
+                propertyId, contentType, body, etag, System.currentTimeMillis() + ttlMillis);
+        synchronized (entries) {
+            if (generation.get() == loadGeneration) {
+                entries.put(key, entry);
+            }
+        }
+    }
+    
+    /**
+     * Drops the property's own response and every listing, since a listing may contain
+     * the property or change its position.
+     */
+    public void evictProperty(Long propertyId) {
+        generation.incrementAndGet();
+        int removed = 0;
+        synchronized (entries) {
+            var iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                Long cachedId = iterator.next().propertyId();
+                if (cachedId == null || cachedId.equals(propertyId)) {
+                    iterator.remove();
+                    removed++;
+                }
+            }
+        }
+        invalidations.increment(removed);
+        log.debug("Purged {} cached responses for property ID: {}", removed, propertyId);
+    }
+    
+    public void clear() {
+        generation.incrementAndGet();
+        synchronized (entries) {
+            invalidations.increment(entries.size());
+            entries.clear();
+        }
+        log.info("Property response cache cleared");
+    }
+    
+    public int getMaxBodyBytes() {
+        return maxBodyBytes;
+    }
+    
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+    
+    /**
+     * A cached 200 response. propertyId is null for listings.
+     */
+    public record CachedResponse(Long propertyId, MediaType contentType, byte[] body, String etag, long expiresAt) {
+    }
+}
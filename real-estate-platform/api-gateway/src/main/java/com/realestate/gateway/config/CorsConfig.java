@@ -32,7 +32,7 @@ public class CorsConfig {
         corsConfig.setAllowCredentials(true);
         
         // Expose authorization header
-        corsConfig.setExposedHeaders(Arrays.asList("Authorization"));
+        corsConfig.setExposedHeaders(Arrays.asList("Authorization", "X-Total-Count"));
         
         // Max age for preflight requests (1 hour)
         corsConfig.setMaxAge(3600L);
@@ -1,81 +1,99 @@
 package com.realestate.gateway.config;
 
 import com.realestate.gateway.filter.JwtAuthenticationFilter;
+import com.realestate.gateway.filter.PropertyResponseCacheFilter;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
 import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.cloud.gateway.route.builder.GatewayFilterSpec;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.function.Function;
+
 @Configuration
 public class GatewayConfig {
     
     @Bean
-    public RouteLocator customRouteLocator(RouteLocatorBuilder builder, JwtAuthenticationFilter jwtFilter) {
+    public RouteLocator customRouteLocator(RouteLocatorBuilder builder, JwtAuthenticationFilter jwtFilter,
+                                           RateLimiter<?> rateLimiter, KeyResolver rateLimitKeyResolver,
+                                           PropertyResponseCacheFilter propertyResponseCacheFilter) {
+        // Every route is rate limited first, so rejected requests never reach JWT verification
+        Function<GatewayFilterSpec, GatewayFilterSpec> rateLimit = f -> f.requestRateLimiter(c -> c
+                .setRateLimiter(rateLimiter)
+                .setKeyResolver(rateLimitKeyResolver));
+        
         return builder.routes()
-                // Authentication routes (no JWT filter needed for login)
+                // Authentication routes (login is public, refresh requires a refresh token)
                 .route("auth-service", r -> r
                         .path("/api/auth/**")
+                        .filters(f -> rateLimit.apply(f).filter(jwtFilter.apply(new JwtAuthenticationFilter.Config())))
                         .uri("lb://interface-service"))
                 
                 // Property Service routes
                 .route("property-service", r -> r
                         .path("/api/properties/**")
-                        .filters(f -> f.filter(jwtFilter.apply(new JwtAuthenticationFilter.Config())))
+                        // Public property GETs are answered from the gateway cache when possible
+                        .filters(f -> rateLimit.apply(f)
+                                .filter(propertyResponseCacheFilter)
+                                .filter(jwtFilter.apply(new JwtAuthenticationFilter.Config())))
                         .uri("lb://property-service"))
                 
                 // Sale Property routes (property-service)
                 .route("sale-properties", r -> r
                         .path("/api/sales/**")
-                        .filters(f -> f.filter(jwtFilter.apply(new JwtAuthenticationFilter.Config())))
+                        .filters(f -> rateLimit.apply(f).filter(jwtFilter.apply(new JwtAuthenticationFilter.Config())))
                         .uri("lb://property-service"))
                 
                 // Client Service routes
                 .route("client-service-clients", r -> r
                         .path("/api/clients/**")
-                        .filters(f -> f.filter(jwtFilter.apply(new JwtAuthenticationFilter.Config())))
+                        .filters(f -> rateLimit.apply(f).filter(jwtFilter.apply(new JwtAuthenticationFilter.Config())))
                         .uri("lb://client-service"))
                 
                 .route("client-service-agents", r -> r
                         .path("/api/agents/**")
-                        .filters(f -> f.filter(jwtFilter.apply(new JwtAuthenticationFilter.Config())))
+                        .filters(f -> rateLimit.apply(f).filter(jwtFilter.apply(new JwtAuthenticationFilter.Config())))
                         .uri("lb://client-service"))
                 
                 .route("client-service-visits", r -> r
                         .path("/api/visits/**")
-                        .filters(f -> f.filter(jwtFilter.apply(new JwtAuthenticationFilter.Config())))
+                        .filters(f -> rateLimit.apply(f).filter(jwtFilter.apply(new JwtAuthenticationFilter.Config())))
                         .uri("lb://client-service"))
                 
                 .route("client-service-inquiries", r -> r
                         .path("/api/inquiries/**")
-                        .filters(f -> f.filter(jwtFilter.apply(new JwtAuthenticationFilter.Config())))
+                        .filters(f -> rateLimit.apply(f).filter(jwtFilter.apply(new JwtAuthenticationFilter.Config())))
                         .uri("lb://client-service"))
                 
                 // Registration endpoint (no JWT required)
                 .route("client-service-register", r -> r
                         .path("/api/users/register")
+                        .filters(rateLimit::apply)
                         .uri("lb://client-service"))
                 
                 // Other user endpoints (JWT required)
                 .route("client-service-users", r -> r
                         .path("/api/users/**")
-                        .filters(f -> f.filter(jwtFilter.apply(new JwtAuthenticationFilter.Config())))
+                        .filters(f -> rateLimit.apply(f).filter(jwtFilter.apply(new JwtAuthenticationFilter.Config())))
                         .uri("lb://client-service"))
                 
                 // Interface Service routes
                 .route("interface-service", r -> r
                         .path("/api/dashboard/**", "/api/search/**")
-                        .filters(f -> f.filter(jwtFilter.apply(new JwtAuthenticationFilter.Config())))
+                        .filters(f -> rateLimit.apply(f).filter(jwtFilter.apply(new JwtAuthenticationFilter.Config())))
                         .uri("lb://interface-service"))
                 
                 // Rental Service routes
                 .route("rental-service-rentals", r -> r
                         .path("/api/rentals/**")
-                        .filters(f -> f.filter(jwtFilter.apply(new JwtAuthenticationFilter.Config())))
+                        .filters(f -> rateLimit.apply(f).filter(jwtFilter.apply(new JwtAuthenticationFilter.Config())))
                         .uri("lb://rental-service"))
                 
                 .route("rental-service-bookings", r -> r
                         .path("/api/bookings/**")
-                        .filters(f -> f.filter(jwtFilter.apply(new JwtAuthenticationFilter.Config())))
+                        .filters(f -> rateLimit.apply(f).filter(jwtFilter.apply(new JwtAuthenticationFilter.Config())))
                         .uri("lb://rental-service"))
                 
                 .build();
@@ -0,0 +1,51 @@
+package com.realestate.gateway.controller;
+
+import com.realestate.gateway.cache.PropertyResponseCache;
+import com.realestate.gateway.security.InternalApiToken;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Purge hook called by property-service after a property is created, updated or deleted,
+ * on the same path as the rental-service and client-service snapshot caches. Served by
+ * the gateway itself (no route matches /internal/**); callers must send internal.api-token
+ * in the X-Internal-Token header, and every call is rejected while it is not configured.
+ */
+@RestController
+@RequestMapping("/internal/cache")
+public class InternalCacheController {
+    
+    private final PropertyResponseCache propertyResponseCache;
+    private final InternalApiToken internalApiToken;
+    
+    public InternalCacheController(PropertyResponseCache propertyResponseCache, InternalApiToken internalApiToken) {
+        this.propertyResponseCache = propertyResponseCache;
+        this.internalApiToken = internalApiToken;
+    }
+    
+    @DeleteMapping("/properties/{propertyId}")
+    public ResponseEntity<Void> evictProperty(
+            @PathVariable Long propertyId,
+            @RequestHeader(value = "X-Internal-Token", required = false) String token) {
+        if (!internalApiToken.matches(token)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        propertyResponseCache.evictProperty(propertyId);
+        return ResponseEntity.noContent().build();
+    }
+    
+    @DeleteMapping("/properties")
+    public ResponseEntity<Void> clearProperties(
+            @RequestHeader(value = "X-Internal-Token", required = false) String token) {
+        if (!internalApiToken.matches(token)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        propertyResponseCache.clear();
+        return ResponseEntity.noContent().build();
+    }
+}
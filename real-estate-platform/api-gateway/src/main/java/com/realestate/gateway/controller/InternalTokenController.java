@@ -0,0 +1,49 @@
+package com.realestate.gateway.controller;
+
+import com.realestate.gateway.security.InternalApiToken;
+import com.realestate.gateway.security.TokenDenylist;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Revocation hook called by interface-service on logout and refresh-token rotation.
+ * Served by the gateway itself (no route matches /internal/**); callers must send
+ * internal.api-token in the X-Internal-Token header, and every call is rejected while
+ * it is not configured. Answers 503 when the denylist is full, so the caller retries.
+ */
+@RestController
+@RequestMapping("/internal/tokens")
+public class InternalTokenController {
+    
+    private final TokenDenylist tokenDenylist;
+    private final InternalApiToken internalApiToken;
+    
+    public InternalTokenController(TokenDenylist tokenDenylist, InternalApiToken internalApiToken) {
+        this.tokenDenylist = tokenDenylist;
+        this.internalApiToken = internalApiToken;
+    }
+    
+    @PostMapping("/revoked")
+    public ResponseEntity<Void> revoke(
+            @RequestBody RevokedToken revokedToken,
+            @RequestHeader(value = "X-Internal-Token", required = false) String token) {
+        if (!internalApiToken.matches(token)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        if (revokedToken.jti() == null || revokedToken.jti().isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!tokenDenylist.revoke(revokedToken.jti(), revokedToken.expiresAt())) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+    
+    public record RevokedToken(String jti, long expiresAt) {
+    }
+}
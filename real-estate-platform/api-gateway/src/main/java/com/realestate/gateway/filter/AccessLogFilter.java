@@ -0,0 +1,65 @@
+package com.realestate.gateway.filter;
+
+import com.realestate.gateway.logging.AccessLogRecord;
+import com.realestate.gateway.logging.AsyncAccessLogger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Captures one access-log record per exchange (method, path, route id, status,
+ * latency, user, trace id) and hands it to AsyncAccessLogger, so nothing is
+ * written on the reactor thread.
+ */
+@Component
+public class AccessLogFilter implements GlobalFilter, Ordered {
+    
+    private final AsyncAccessLogger accessLogger;
+    private final boolean enabled;
+    
+    public AccessLogFilter(
+            AsyncAccessLogger accessLogger,
+            @Value("${gateway.access-log.enabled:true}") boolean enabled) {
+        this.accessLogger = accessLogger;
+        this.enabled = enabled;
+    }
+    
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!enabled) {
+            return chain.filter(exchange);
+        }
+        
+        long start = System.nanoTime();
+        return chain.filter(exchange).doFinally(signal -> {
+            ServerHttpRequest request = exchange.getRequest();
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            HttpStatusCode statusCode = exchange.getResponse().getStatusCode();
+            int status = statusCode != null ? statusCode.value() : (signal == SignalType.ON_ERROR ? 500 : 0);
+            
+            accessLogger.publish(new AccessLogRecord(
+                    System.currentTimeMillis(),
+                    request.getMethod().name(),
+                    request.getPath().value(),
+                    route != null ? route.getId() : null,
+                    status,
+                    (System.nanoTime() - start) / 1000,
+                    exchange.getAttribute(JwtAuthenticationFilter.USER_ATTRIBUTE),
+                    exchange.getAttribute(TraceIdFilter.TRACE_ID_ATTRIBUTE)));
+        });
+    }
+    
+    @Override
+    public int getOrder() {
+        return -1;
+    }
+}
@@ -0,0 +1,53 @@
+package com.realestate.gateway.filter;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Copies a response body while it is relayed, up to a byte limit. Past the limit the copy
+ * is dropped and the rest of the body is relayed untouched, so an oversized response is
+ * never held in gateway memory.
+ */
+final class BoundedBodyCapture {
+    
+    private final int limit;
+    private ByteArrayOutputStream copy = new ByteArrayOutputStream();
+    
+    BoundedBodyCapture(int limit) {
+        this.limit = limit;
+    }
+    
+    Flux<DataBuffer> relay(Publisher<? extends DataBuffer> body) {
+        return Flux.from(body).map(buffer -> {
+            capture(buffer);
+            return buffer;
+        });
+    }
+    
+    /**
+     * The relayed body, or null once it went past the limit.
+     */
+    byte[] captured() {
+        return copy != null ? copy.toByteArray() : null;
+    }
+    
+    private void capture(DataBuffer buffer) {
+        if (copy == null) {
+            return;
+        }
+        int length = buffer.readableByteCount();
+        if (copy.size() + length > limit) {
+            copy = null;
+            return;
+        }
+        // Read without consuming: the buffer is still written downstream
+        int position = buffer.readPosition();
+        byte[] bytes = new byte[length];
+        buffer.read(bytes);
+        buffer.readPosition(position);
+        copy.write(bytes, 0, length);
+    }
+}
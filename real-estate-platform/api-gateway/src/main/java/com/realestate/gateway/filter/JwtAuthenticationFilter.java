@@ -1,6 +1,11 @@
 package com.realestate.gateway.filter;
 
+import com.realestate.gateway.security.AuthPolicy;
+import com.realestate.gateway.security.AuthPolicyMatcher;
+import com.realestate.gateway.security.TokenDenylist;
 import com.realestate.gateway.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,9 +23,21 @@ public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAut
     
     private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
     
+    // Exchange attribute holding the authenticated username, read by the access log
+    public static final String USER_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".user";
+    // Exchange attribute holding the claims of the request's bearer token once verified
+    // (by the rate-limit key resolver), so the token is verified once per request
+    public static final String CLAIMS_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".claims";
+    
     @Autowired
     private JwtUtil jwtUtil;
     
+    @Autowired
+    private AuthPolicyMatcher authPolicyMatcher;
+    
+    @Autowired
+    private TokenDenylist tokenDenylist;
+    
     public JwtAuthenticationFilter() {
         super(Config.class);
     }
@@ -29,26 +46,18 @@ public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAut
     public GatewayFilter apply(Config config) {
         return (exchange, chain) -> {
             ServerHttpRequest request = exchange.getRequest();
-            String path = request.getURI().getPath();
-            String method = request.getMethod().name();
+            String path = request.getPath().value();
             
-            // Skip authentication for login endpoint
-            if (path.contains("/api/auth/login")) {
-                return chain.filter(exchange);
-            }
-            
-            // Allow public access to view properties (GET requests only)
-            if (method.equals("GET") && (
-                path.contains("/api/properties/search") || 
-                path.matches("/api/properties(/\\d+)?$")
-            )) {
-                log.info("Public access granted for: {} {}", method, path);
+            // Public endpoints come from the gateway.auth.rules configuration
+            AuthPolicy policy = authPolicyMatcher.policyFor(request.getMethod(), request.getPath().pathWithinApplication());
+            if (policy == AuthPolicy.PUBLIC) {
+                log.debug("Public access granted for: {} {}", request.getMethod(), path);
                 return chain.filter(exchange);
             }
             
             // Check for Authorization header
             if (!request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)) {
-                log.error("Authentication error: No Authorization header");
+                log.debug("Authentication error: No Authorization header - Path: {}", path);
                 return onError(exchange, "No Authorization header", HttpStatus.UNAUTHORIZED);
             }
             
@@ -60,19 +69,34 @@ public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAut
             String token = authHeader.substring(7);
             
             try {
-                if (!jwtUtil.isTokenValid(token)) {
-                    log.error("JWT validation failed: Token is invalid or expired");
-                    return onError(exchange, "Invalid or expired token", HttpStatus.UNAUTHORIZED);
+                // One verification per request: reuse the key resolver's result if any
+                Claims claims = exchange.getAttribute(CLAIMS_ATTRIBUTE);
+                if (claims == null) {
+                    claims = jwtUtil.verify(token);
+                }
+                
+                // Refresh tokens are only accepted for renewal, and only refresh tokens are;
+                // tokens issued before the typ claim existed count as access tokens
+                boolean refreshToken = "refresh".equals(claims.get("typ", String.class));
+                if (refreshToken != (policy == AuthPolicy.REFRESH_TOKEN)) {
+                    log.debug("Wrong token type for path {}", path);
+                    return onError(exchange, "Wrong token type", HttpStatus.UNAUTHORIZED);
+                }
+                if (tokenDenylist.isRevoked(claims.getId())) {
+                    log.debug("Revoked token presented for path {}", path);
+                    return onError(exchange, "Token revoked", HttpStatus.UNAUTHORIZED);
                 }
                 
-                String username = jwtUtil.extractUsername(token);
-                String role = jwtUtil.extractRole(token);
-                String email = jwtUtil.extractEmail(token);
-                log.info("Request authenticated for user: {} with role: {} and email: {} - Path: {}", username, role, email, path);
+                String username = claims.getSubject();
+                String role = claims.get("role", String.class);
+                String email = claims.get("email", String.class);
+                log.debug("Request authenticated for user: {} with role: {} - Path: {}", username, role, path);
+                if (username != null) {
+                    exchange.getAttributes().put(USER_ATTRIBUTE, username);
+                }
                 
                 // Normalize role: ensure it has ROLE_ prefix for Spring Security compatibility
                 String normalizedRole = normalizeRole(role);
-                log.info("Role normalized: {} -> {} (for path: {})", role, normalizedRole, path);
                 
                 // Add username, role (with ROLE_ prefix), and email to request headers
                 ServerHttpRequest modifiedRequest = exchange.getRequest().mutate()
@@ -86,13 +110,9 @@ public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAut
                 
                 return chain.filter(exchange.mutate().request(modifiedRequest).build());
                 
-            } catch (Exception e) {
-                log.error("JWT validation error for path {}: {} - Exception type: {}", path, e.getMessage(), e.getClass().getName());
-                if (e.getCause() != null) {
-                    log.error("JWT validation error cause: {}", e.getCause().getMessage());
-                }
-                e.printStackTrace();
-                return onError(exchange, "JWT validation failed: " + e.getMessage(), HttpStatus.UNAUTHORIZED);
+            } catch (JwtException | IllegalArgumentException e) {
+                log.debug("JWT validation failed for path {}: {}", path, e.getMessage());
+                return onError(exchange, "Invalid or expired token", HttpStatus.UNAUTHORIZED);
             }
         };
     }
@@ -110,7 +130,7 @@ public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAut
         }
         
         // Remove any existing ROLE_ prefix to avoid duplication
-        String cleanRole = role.startsWith("ROLE_") ? role.substring(6) : role;
+        String cleanRole = role.startsWith("ROLE_") ? role.substring(5) : role;
         
         // Add ROLE_ prefix for Spring Security compatibility
         return "ROLE_" + cleanRole.toUpperCase();
@@ -0,0 +1,211 @@
+package com.realestate.gateway.filter;
+
+import com.realestate.gateway.cache.PropertyResponseCache;
+import com.realestate.gateway.cache.PropertyResponseCache.CachedResponse;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Serves the public property GETs (single property, listing, search) from
+ * PropertyResponseCache. Hits are written without calling property-service, and a
+ * matching If-None-Match gets a 304. Misses are forwarded with the client's conditional
+ * headers, so property-service can answer 304 from its own ETag check without reading
+ * the page; only a 200 body of at most gateway.response-cache.max-body-bytes is stored.
+ * A larger or unknown-length body is relayed as it arrives, never buffered whole.
+ */
+@Component
+public class PropertyResponseCacheFilter implements GatewayFilter {
+    
+    private static final PathPattern PROPERTY_PATTERN = PathPatternParser.defaultInstance.parse("/api/properties/{id:[0-9]+}");
+    private static final List<PathPattern> LISTING_PATTERNS = List.of(
+            PathPatternParser.defaultInstance.parse("/api/properties"),
+            PathPatternParser.defaultInstance.parse("/api/properties/search"));
+    
+    private static final String CACHE_STATUS_HEADER = "X-Cache";
+    
+    private final PropertyResponseCache cache;
+    private final boolean enabled;
+    
+    public PropertyResponseCacheFilter(
+            PropertyResponseCache cache,
+            @Value("${gateway.response-cache.enabled:true}") boolean enabled) {
+        this.cache = cache;
+        this.enabled = enabled;
+    }
+    
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!enabled || request.getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange);
+        }
+        
+        PathContainer path = request.getPath().pathWithinApplication();
+        Long propertyId = null;
+        PathPattern.PathMatchInfo propertyMatch = PROPERTY_PATTERN.matchAndExtract(path);
+        if (propertyMatch != null) {
+            propertyId = Long.valueOf(propertyMatch.getUriVariables().get("id"));
+        } else if (LISTING_PATTERNS.stream().noneMatch(pattern -> pattern.matches(path))) {
+            return chain.filter(exchange);
+        }
+        
+        String key = cacheKey(path.value(), request.getQueryParams());
+        String ifNoneMatch = request.getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH);
+        ServerHttpResponse response = exchange.getResponse();
+        
+        CachedResponse cached = cache.get(key);
+        if (cached != null) {
+            response.getHeaders().set(CACHE_STATUS_HEADER, "HIT");
+            response.getHeaders().setETag(cached.etag());
+            if (etagMatches(ifNoneMatch, cached.etag())) {
+                response.setStatusCode(HttpStatus.NOT_MODIFIED);
+                return response.setComplete();
+            }
+            response.setStatusCode(HttpStatus.OK);
+            if (cached.contentType() != null) {
+                response.getHeaders().setContentType(cached.contentType());
+            }
+            response.getHeaders().setContentLength(cached.body().length);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+        }
+        
+        long loadGeneration = cache.currentGeneration();
+        Long cachedPropertyId = propertyId;
+        ServerHttpResponseDecorator capturingResponse = new ServerHttpResponseDecorator(response) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                HttpStatusCode status = getStatusCode();
+                if (status != null && status.value() == HttpStatus.NOT_MODIFIED.value()) {
+                    // Revalidated upstream: nothing to store
+                    getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+                    return super.writeWith(body);
+                }
+                if (status == null || status.value() != HttpStatus.OK.value() || !isCacheable(getHeaders())) {
+                    return super.writeWith(body);
+                }
+                
+                getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+                long contentLength = getHeaders().getContentLength();
+                if (contentLength > cache.getMaxBodyBytes()) {
+                    return super.writeWith(body);
+                }
+                if (contentLength < 0) {
+                    // Unknown length: relay as it arrives and store the copy only if it stayed
+                    // under the limit. Headers are sent first, so this needs the upstream ETag.
+                    String upstreamEtag = getHeaders().getETag();
+                    if (upstreamEtag == null) {
+                        return super.writeWith(body);
+                    }
+                    MediaType contentType = getHeaders().getContentType();
+                    BoundedBodyCapture capture = new BoundedBodyCapture(cache.getMaxBodyBytes());
+                    return super.writeWith(capture.relay(body)).doOnSuccess(done -> {
+                        byte[] bytes = capture.captured();
+                        if (bytes != null) {
+                            cache.put(key, cachedPropertyId, contentType, bytes, upstreamEtag, loadGeneration);
+                        }
+                    });
+                }
+                
+                // Known length within the limit: buffer the body
+                return DataBufferUtils.join(Flux.from(body)).flatMap(joined -> {
+                    byte[] bytes = new byte[joined.readableByteCount()];
+                    joined.read(bytes);
+                    DataBufferUtils.release(joined);
+                    
+                    // Keep the upstream ETag when property-service sends one
+                    String etag = getHeaders().getETag() != null ? getHeaders().getETag() : strongEtag(bytes);
+                    cache.put(key, cachedPropertyId, getHeaders().getContentType(), bytes, etag, loadGeneration);
+                    getHeaders().setETag(etag);
+                    
+                    if (etagMatches(ifNoneMatch, etag)) {
+                        setStatusCode(HttpStatus.NOT_MODIFIED);
+                        getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+                        getHeaders().remove(HttpHeaders.CONTENT_TYPE);
+                        return setComplete();
+                    }
+                    return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                });
+            }
+        };
+        
+        return chain.filter(exchange.mutate().response(capturingResponse).build());
+    }
+    
+    /**
+     * Path without trailing slash, then query parameters sorted by name (values keep their order):
+     * /api/properties/search?type=HOUSE&city=Paris -> /api/properties/search?city=Paris&type=HOUSE
+     */
+    static String cacheKey(String path, MultiValueMap<String, String> queryParams) {
+        StringBuilder key = new StringBuilder(path.length() + 64);
+        key.append(path.length() > 1 && path.endsWith("/") ? path.substring(0, path.length() - 1) : path);
+        char separator = '?';
+        for (var param : new TreeMap<>(queryParams).entrySet()) {
+            for (String value : param.getValue()) {
+                key.append(separator).append(param.getKey()).append('=').append(value != null ? value : "");
+                separator = '&';
+            }
+        }
+        return key.toString();
+    }
+    
+    private static boolean isCacheable(HttpHeaders headers) {
+        if (headers.containsKey(HttpHeaders.SET_COOKIE)) {
+            return false;
+        }
+        String cacheControl = headers.getCacheControl();
+        return cacheControl == null || !(cacheControl.contains("no-store") || cacheControl.contains("private"));
+    }
+    
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        String opaqueTag = stripWeakPrefix(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || stripWeakPrefix(tag).equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static String stripWeakPrefix(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+    
+    private static String strongEtag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.realestate.gateway.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-route metrics, tagged with the route id and its downstream service (route URI):
+ * <ul>
+ *   <li>gateway.route.latency - timer with a percentile histogram and p50/p95/p99, per outcome</li>
+ *   <li>gateway.route.inflight - requests currently being proxied</li>
+ *   <li>gateway.route.errors - 5xx responses and exceptions</li>
+ * </ul>
+ * Meters are created once per route/outcome and then looked up without allocation.
+ */
+@Component
+public class RouteMetricsFilter implements GlobalFilter, Ordered {
+    
+    private final MeterRegistry meterRegistry;
+    private final Map<String, RouteMeters> metersByRoute = new ConcurrentHashMap<>();
+    
+    public RouteMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null) {
+            return chain.filter(exchange);
+        }
+        
+        RouteMeters meters = metersByRoute.computeIfAbsent(route.getId(),
+                id -> new RouteMeters(id, route.getUri().toString()));
+        meters.inFlight.incrementAndGet();
+        long start = System.nanoTime();
+        
+        return chain.filter(exchange).doFinally(signal -> {
+            meters.inFlight.decrementAndGet();
+            HttpStatusCode status = exchange.getResponse().getStatusCode();
+            
+            Outcome outcome;
+            if (signal == SignalType.ON_ERROR) {
+                outcome = Outcome.EXCEPTION;
+            } else if (status == null) {
+                outcome = signal == SignalType.CANCEL ? Outcome.CANCELLED : Outcome.SUCCESS;
+            } else if (status.is5xxServerError()) {
+                outcome = Outcome.SERVER_ERROR;
+            } else if (status.is4xxClientError()) {
+                outcome = Outcome.CLIENT_ERROR;
+            } else {
+                outcome = Outcome.SUCCESS;
+            }
+            
+            meters.latency[outcome.ordinal()].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (outcome == Outcome.SERVER_ERROR) {
+                meters.serverErrors.increment();
+            } else if (outcome == Outcome.EXCEPTION) {
+                meters.exceptions.increment();
+            }
+        });
+    }
+    
+    @Override
+    public int getOrder() {
+        return -2;
+    }
+    
+    private enum Outcome {
+        SUCCESS, CLIENT_ERROR, SERVER_ERROR, EXCEPTION, CANCELLED
+    }
+    
+    private final class RouteMeters {
+        
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final Timer[] latency = new Timer[Outcome.values().length];
+        private final Counter serverErrors;
+        private final Counter exceptions;
+        
+        private RouteMeters(String routeId, String service) {
+            for (Outcome outcome : Outcome.values()) {
+                latency[outcome.ordinal()] = Timer.builder("gateway.route.latency")
+                        .description("Time spent proxying a request, per route")
+                        .tag("route", routeId)
+                        .tag("service", service)
+                        .tag("outcome", outcome.name())
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry);
+            }
+            Gauge.builder("gateway.route.inflight", inFlight, AtomicInteger::get)
+                    .tag("route", routeId)
+                    .tag("service", service)
+                    .register(meterRegistry);
+            serverErrors = Counter.builder("gateway.route.errors")
+                    .tag("route", routeId)
+                    .tag("service", service)
+                    .tag("type", "5xx")
+                    .register(meterRegistry);
+            exceptions = Counter.builder("gateway.route.errors")
+                    .tag("route", routeId)
+                    .tag("service", service)
+                    .tag("type", "exception")
+                    .register(meterRegistry);
+        }
+    }
+}
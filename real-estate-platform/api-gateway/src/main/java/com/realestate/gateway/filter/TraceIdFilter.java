@@ -0,0 +1,70 @@
+package com.realestate.gateway.filter;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Gives every exchange a trace id (X-Trace-Id, kept when the client sent a well-formed
+ * one) and decides once whether it is sampled (X-Trace-Sampled). Both headers are
+ * forwarded downstream, where services log detailed diagnostics only for sampled
+ * requests. The sampling decision is the gateway's: a client-sent X-Trace-Sampled
+ * is replaced.
+ */
+@Component
+public class TraceIdFilter implements GlobalFilter, Ordered {
+    
+    public static final String TRACE_ID_HEADER = "X-Trace-Id";
+    public static final String SAMPLED_HEADER = "X-Trace-Sampled";
+    
+    // Exchange attribute holding the trace id, read by the access log
+    public static final String TRACE_ID_ATTRIBUTE = TraceIdFilter.class.getName() + ".traceId";
+    
+    private static final Pattern VALID_TRACE_ID = Pattern.compile("[A-Za-z0-9-]{8,64}");
+    
+    private final double sampleRate;
+    
+    public TraceIdFilter(@Value("${gateway.tracing.sample-rate:0.01}") double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+    
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        String traceId = exchange.getRequest().getHeaders().getFirst(TRACE_ID_HEADER);
+        if (traceId == null || !VALID_TRACE_ID.matcher(traceId).matches()) {
+            traceId = UUID.randomUUID().toString().replace("-", "");
+        }
+        boolean sampled = sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+        
+        String forwardedTraceId = traceId;
+        ServerHttpRequest request = exchange.getRequest().mutate()
+                .headers(headers -> {
+                    headers.set(TRACE_ID_HEADER, forwardedTraceId);
+                    if (sampled) {
+                        headers.set(SAMPLED_HEADER, "1");
+                    } else {
+                        headers.remove(SAMPLED_HEADER);
+                    }
+                })
+                .build();
+        
+        exchange.getAttributes().put(TRACE_ID_ATTRIBUTE, traceId);
+        exchange.getResponse().getHeaders().set(TRACE_ID_HEADER, traceId);
+        return chain.filter(exchange.mutate().request(request).build());
+    }
+    
+    @Override
+    public int getOrder() {
+        // Before the access log, so that its record carries the trace id
+        return -2;
+    }
+}
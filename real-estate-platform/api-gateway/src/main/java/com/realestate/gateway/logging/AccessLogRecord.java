@@ -0,0 +1,15 @@
+package com.realestate.gateway.logging;
+
+/**
+ * One line of the gateway access log, captured when the exchange completes.
+ */
+public record AccessLogRecord(
+        long timestamp,
+        String method,
+        String path,
+        String routeId,
+        int status,
+        long latencyMicros,
+        String user,
+        String traceId) {
+}
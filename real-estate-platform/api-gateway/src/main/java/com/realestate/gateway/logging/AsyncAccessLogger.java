@@ -0,0 +1,102 @@
+package com.realestate.gateway.logging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hands access-log records from reactor threads to a single writer thread through a
+ * bounded ring buffer. Publishing never blocks: when the buffer is full the record is
+ * dropped and counted in gateway.accesslog.dropped.
+ */
+@Component
+public class AsyncAccessLogger {
+    
+    // Dedicated logger so the access log can be routed to its own appender
+    private static final Logger accessLog = LoggerFactory.getLogger("ACCESS_LOG");
+    private static final Logger log = LoggerFactory.getLogger(AsyncAccessLogger.class);
+    
+    private static final int DRAIN_BATCH_SIZE = 256;
+    
+    private final BlockingQueue<AccessLogRecord> buffer;
+    private final Counter dropped;
+    private final Thread writer;
+    private volatile boolean running = true;
+    
+    public AsyncAccessLogger(
+            MeterRegistry meterRegistry,
+            @Value("${gateway.access-log.buffer-size:8192}") int bufferSize) {
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.dropped = meterRegistry.counter("gateway.accesslog.dropped");
+        Gauge.builder("gateway.accesslog.pending", buffer, BlockingQueue::size).register(meterRegistry);
+        
+        this.writer = new Thread(this::drainLoop, "gateway-access-log");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+    
+    /**
+     * Non-blocking: returns immediately whether or not the record was accepted.
+     */
+    public void publish(AccessLogRecord record) {
+        if (!buffer.offer(record)) {
+            dropped.increment();
+        }
+    }
+    
+    private void drainLoop() {
+        List<AccessLogRecord> batch = new ArrayList<>(DRAIN_BATCH_SIZE);
+        while (running || !buffer.isEmpty()) {
+            try {
+                AccessLogRecord first = buffer.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, DRAIN_BATCH_SIZE - 1);
+                for (AccessLogRecord record : batch) {
+                    write(record);
+                }
+            } catch (InterruptedException e) {
+                // Shutdown requested: loop once more to flush what is left
+                running = false;
+            } catch (RuntimeException e) {
+                log.warn("Access log write failed: {}", e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+    
+    private void write(AccessLogRecord record) {
+        accessLog.info("ts={} method={} path={} route={} status={} latencyMs={}.{} user={} trace={}",
+                Instant.ofEpochMilli(record.timestamp()),
+                record.method(),
+                record.path(),
+                record.routeId() != null ? record.routeId() : "-",
+                record.status(),
+                record.latencyMicros() / 1000,
+                String.format("%03d", record.latencyMicros() % 1000),
+                record.user() != null ? record.user() : "-",
+                record.traceId() != null ? record.traceId() : "-");
+    }
+    
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writer.interrupt();
+        writer.join(2000);
+    }
+}
@@ -0,0 +1,156 @@
+package com.realestate.gateway.ratelimit;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process token bucket for RequestRateLimiter, one bucket per route and key.
+ * Each bucket is a single AtomicLong holding its "theoretical arrival time" (GCRA):
+ * a request is admitted by advancing it with a CAS, so checks are lock-free and
+ * allocation-free. Buckets that are full again are purged every minute.
+ *
+ * Active when gateway.rate-limit.store=memory (the default). Limits apply per gateway
+ * instance: a shared store such as RedisRateLimiter would also need
+ * spring-boot-starter-data-redis-reactive, which this build does not include.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "gateway.rate-limit.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRateLimiter implements RateLimiter<InMemoryRateLimiter.Config> {
+    
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    
+    private final RateLimitProperties properties;
+    private final Map<String, Config> configByRoute = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, AtomicLong>> bucketsByRoute = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService cleaner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "rate-limit-cleaner");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    public InMemoryRateLimiter(RateLimitProperties properties) {
+        this.properties = properties;
+        cleaner.scheduleWithFixedDelay(this::purgeFullBuckets, 1, 1, TimeUnit.MINUTES);
+    }
+    
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = configByRoute.computeIfAbsent(routeId, this::resolveConfig);
+        AtomicLong bucket = bucketsByRoute
+                .computeIfAbsent(routeId, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(id, k -> new AtomicLong(System.nanoTime()));
+        
+        long interval = NANOS_PER_SECOND / config.getReplenishRate();
+        long burstWindow = interval * config.getBurstCapacity();
+        
+        while (true) {
+            long now = System.nanoTime();
+            long current = bucket.get();
+            // Later of the two, compared through their difference since nanoTime may wrap
+            long arrival = current - now > 0 ? current : now;
+            long next = arrival + interval;
+            long wait = next - burstWindow - now;
+            
+            if (wait > 0) {
+                // Not enough tokens: Retry-After is the time until one is available, rounded up
+                long retryAfterSeconds = Math.max(1, (wait + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND);
+                return Mono.just(new Response(false, headers(config, 0, retryAfterSeconds)));
+            }
+            if (bucket.compareAndSet(current, next)) {
+                long remaining = (burstWindow - (next - now)) / interval;
+                return Mono.just(new Response(true, headers(config, remaining, 0)));
+            }
+        }
+    }
+    
+    private Map<String, String> headers(Config config, long remaining, long retryAfterSeconds) {
+        Map<String, String> headers = new HashMap<>(4);
+        headers.put("X-RateLimit-Remaining", String.valueOf(remaining));
+        headers.put("X-RateLimit-Replenish-Rate", String.valueOf(config.getReplenishRate()));
+        headers.put("X-RateLimit-Burst-Capacity", String.valueOf(config.getBurstCapacity()));
+        if (retryAfterSeconds > 0) {
+            headers.put("Retry-After", String.valueOf(retryAfterSeconds));
+        }
+        return headers;
+    }
+    
+    private Config resolveConfig(String routeId) {
+        RateLimitProperties.Limit defaults = properties.getDefaults();
+        RateLimitProperties.Limit route = properties.getRoutes().getOrDefault(routeId, defaults);
+        
+        Config config = new Config();
+        config.setReplenishRate(firstNonNull(route.getReplenishRate(), defaults.getReplenishRate(), 20));
+        config.setBurstCapacity(firstNonNull(route.getBurstCapacity(), defaults.getBurstCapacity(),
+                config.getReplenishRate() * 2));
+        return config;
+    }
+    
+    private static int firstNonNull(Integer value, Integer fallback, int defaultValue) {
+        if (value != null) {
+            return value;
+        }
+        return fallback != null ? fallback : defaultValue;
+    }
+    
+    // A bucket whose arrival time is in the past is full again and equivalent to a new one
+    private void purgeFullBuckets() {
+        long now = System.nanoTime();
+        bucketsByRoute.values().forEach(buckets ->
+                buckets.entrySet().removeIf(entry -> entry.getValue().get() - now <= 0));
+    }
+    
+    @Override
+    public Map<String, Config> getConfig() {
+        return configByRoute;
+    }
+    
+    @Override
+    public Class<Config> getConfigClass() {
+        return Config.class;
+    }
+    
+    @Override
+    public Config newConfig() {
+        return new Config();
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        cleaner.shutdownNow();
+    }
+    
+    public static class Config {
+        
+        private int replenishRate;
+        private int burstCapacity;
+        
+        public int getReplenishRate() {
+            return replenishRate;
+        }
+        
+        public void setReplenishRate(int replenishRate) {
+            this.replenishRate = replenishRate;
+        }
+        
+        public int getBurstCapacity() {
+            return burstCapacity;
+        }
+        
+        public void setBurstCapacity(int burstCapacity) {
+            this.burstCapacity = burstCapacity;
+        }
+    }
+}
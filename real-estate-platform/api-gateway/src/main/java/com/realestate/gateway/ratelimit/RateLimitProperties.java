@@ -0,0 +1,65 @@
+package com.realestate.gateway.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Token-bucket limits bound from gateway.rate-limit.*:
+ * <pre>
+ * gateway.rate-limit.defaults.replenish-rate=20
+ * gateway.rate-limit.defaults.burst-capacity=40
+ * gateway.rate-limit.routes.property-service.replenish-rate=10
+ * </pre>
+ * Route entries override the defaults field by field.
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public class RateLimitProperties {
+    
+    private Limit defaults = new Limit();
+    private Map<String, Limit> routes = new HashMap<>();
+    
+    public Limit getDefaults() {
+        return defaults;
+    }
+    
+    public void setDefaults(Limit defaults) {
+        this.defaults = defaults;
+    }
+    
+    public Map<String, Limit> getRoutes() {
+        return routes;
+    }
+    
+    public void setRoutes(Map<String, Limit> routes) {
+        this.routes = routes;
+    }
+    
+    public static class Limit {
+        
+        // Tokens added per second, i.e. the sustained request rate
+        private Integer replenishRate;
+        
+        // Bucket size, i.e. the largest burst accepted at once
+        private Integer burstCapacity;
+        
+        public Integer getReplenishRate() {
+            return replenishRate;
+        }
+        
+        public void setReplenishRate(Integer replenishRate) {
+            this.replenishRate = replenishRate;
+        }
+        
+        public Integer getBurstCapacity() {
+            return burstCapacity;
+        }
+        
+        public void setBurstCapacity(Integer burstCapacity) {
+            this.burstCapacity = burstCapacity;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.realestate.gateway.ratelimit;
+
+import com.realestate.gateway.filter.JwtAuthenticationFilter;
+import com.realestate.gateway.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Rate-limit key: the authenticated user when a valid token is presented ("user:alice"),
+ * otherwise the client address ("ip:10.0.0.12"). The verified claims are kept on the
+ * exchange, so the JWT filter that runs next does not verify the token again.
+ */
+@Component
+public class UserOrIpKeyResolver implements KeyResolver {
+    
+    private final JwtUtil jwtUtil;
+    
+    public UserOrIpKeyResolver(JwtUtil jwtUtil) {
+        this.jwtUtil = jwtUtil;
+    }
+    
+    @Override
+    public Mono<String> resolve(ServerWebExchange exchange) {
+        String username = exchange.getAttribute(JwtAuthenticationFilter.USER_ATTRIBUTE);
+        if (username == null) {
+            username = usernameFromToken(exchange, exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION));
+        }
+        if (username != null) {
+            return Mono.just("user:" + username);
+        }
+        
+        InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+        String ip = remoteAddress != null && remoteAddress.getAddress() != null
+                ? remoteAddress.getAddress().getHostAddress()
+                : "unknown";
+        return Mono.just("ip:" + ip);
+    }
+    
+    private String usernameFromToken(ServerWebExchange exchange, String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return null;
+        }
+        try {
+            Claims claims = jwtUtil.verify(authHeader.substring(7));
+            exchange.getAttributes().put(JwtAuthenticationFilter.CLAIMS_ATTRIBUTE, claims);
+            return claims.getSubject();
+        } catch (JwtException | IllegalArgumentException e) {
+            // Invalid tokens are limited by address and rejected by the JWT filter
+            return null;
+        }
+    }
+}
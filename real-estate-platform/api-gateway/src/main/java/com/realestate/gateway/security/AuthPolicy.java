@@ -0,0 +1,10 @@
+package com.realestate.gateway.security;
+
+/**
+ * What JwtAuthenticationFilter requires for a request.
+ */
+public enum AuthPolicy {
+    PUBLIC,         // Forwarded without a token
+    AUTHENTICATED,  // Requires a valid Bearer access token
+    REFRESH_TOKEN   // Requires a valid Bearer refresh token (token renewal only)
+}
@@ -0,0 +1,50 @@
+package com.realestate.gateway.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * Auth rules from AuthPolicyProperties, compiled once at startup into PathPatterns.
+ * Matching walks a plain array against the already parsed request path, so no
+ * regex or string is built per request.
+ */
+@Component
+public class AuthPolicyMatcher {
+    
+    private static final Logger log = LoggerFactory.getLogger(AuthPolicyMatcher.class);
+    
+    private final CompiledRule[] rules;
+    
+    public AuthPolicyMatcher(AuthPolicyProperties properties) {
+        PathPatternParser parser = PathPatternParser.defaultInstance;
+        this.rules = properties.getRules().stream()
+                .map(rule -> new CompiledRule(
+                        rule.getMethod() != null && !rule.getMethod().isBlank()
+                                ? HttpMethod.valueOf(rule.getMethod().trim().toUpperCase())
+                                : null,
+                        parser.parse(rule.getPath()),
+                        rule.getPolicy()))
+                .toArray(CompiledRule[]::new);
+        
+        for (CompiledRule rule : rules) {
+            log.info("Auth rule: {} {} -> {}", rule.method != null ? rule.method : "*", rule.pattern, rule.policy);
+        }
+    }
+    
+    public AuthPolicy policyFor(HttpMethod method, PathContainer path) {
+        for (CompiledRule rule : rules) {
+            if ((rule.method == null || rule.method.equals(method)) && rule.pattern.matches(path)) {
+                return rule.policy;
+            }
+        }
+        return AuthPolicy.AUTHENTICATED;
+    }
+    
+    private record CompiledRule(HttpMethod method, PathPattern pattern, AuthPolicy policy) {
+    }
+}
@@ -0,0 +1,67 @@
+package com.realestate.gateway.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ordered auth rules bound from gateway.auth.rules[n].*, for example:
+ * <pre>
+ * gateway.auth.rules[0].method=GET
+ * gateway.auth.rules[0].path=/api/properties/{id:[0-9]+}
+ * gateway.auth.rules[0].policy=PUBLIC
+ * </pre>
+ * The first rule matching the method and path wins; requests matching no rule
+ * require authentication.
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.auth")
+public class AuthPolicyProperties {
+    
+    private List<Rule> rules = new ArrayList<>();
+    
+    public List<Rule> getRules() {
+        return rules;
+    }
+    
+    public void setRules(List<Rule> rules) {
+        this.rules = rules;
+    }
+    
+    public static class Rule {
+        
+        // HTTP method, any method when empty
+        private String method;
+        
+        // Spring PathPattern, e.g. /api/rentals/search or /api/properties/{id:[0-9]+}
+        private String path;
+        
+        private AuthPolicy policy = AuthPolicy.PUBLIC;
+        
+        public String getMethod() {
+            return method;
+        }
+        
+        public void setMethod(String method) {
+            this.method = method;
+        }
+        
+        public String getPath() {
+            return path;
+        }
+        
+        public void setPath(String path) {
+            this.path = path;
+        }
+        
+        public AuthPolicy getPolicy() {
+            return policy;
+        }
+        
+        public void setPolicy(AuthPolicy policy) {
+            this.policy = policy;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.realestate.gateway.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Shared secret (internal.api-token) that service-to-service calls to the gateway's own
+ * /internal/** endpoints must send in X-Internal-Token. These endpoints are served on
+ * the public port, so they fail closed: while the token is not configured, every call
+ * is rejected.
+ */
+@Component
+public class InternalApiToken {
+    
+    private static final Logger log = LoggerFactory.getLogger(InternalApiToken.class);
+    
+    private final byte[] expected;
+    
+    public InternalApiToken(@Value("${internal.api-token:}") String internalApiToken) {
+        this.expected = internalApiToken.getBytes(StandardCharsets.UTF_8);
+        if (expected.length == 0) {
+            log.warn("internal.api-token is not set: /internal/** endpoints reject every call");
+        }
+    }
+    
+    public boolean matches(String presented) {
+        if (expected.length == 0 || presented == null) {
+            return false;
+        }
+        // Constant-time comparison
+        return MessageDigest.isEqual(expected, presented.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,97 @@
+package com.realestate.gateway.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * IDs (jti) of revoked tokens, kept until the token would have expired anyway.
+ * Filled by interface-service on logout and refresh-token rotation through
+ * POST /internal/tokens/revoked.
+ *
+ * IDs are also grouped in one-minute expiry buckets, so that the cleaner drops whole
+ * expired buckets instead of scanning every entry; revoking is O(log n). At max-size
+ * new IDs are rejected (gateway.token-denylist.rejected) rather than dropping
+ * revocations already recorded.
+ */
+@Component
+public class TokenDenylist {
+    
+    private static final Logger log = LoggerFactory.getLogger(TokenDenylist.class);
+    
+    private static final long BUCKET_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    
+    // jti -> expiry (epoch millis)
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    // expiry minute -> jtis expiring in it
+    private final ConcurrentNavigableMap<Long, Set<String>> expiryBuckets = new ConcurrentSkipListMap<>();
+    private final int maxSize;
+    private final Counter revocations;
+    private final Counter rejections;
+    private final ScheduledExecutorService cleaner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "token-denylist-cleaner");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    public TokenDenylist(MeterRegistry meterRegistry,
+                         @Value("${gateway.token-denylist.max-size:100000}") int maxSize) {
+        this.maxSize = maxSize;
+        this.revocations = meterRegistry.counter("gateway.token-denylist.revocations");
+        this.rejections = meterRegistry.counter("gateway.token-denylist.rejected");
+        Gauge.builder("gateway.token-denylist.size", revoked, Map::size).register(meterRegistry);
+        cleaner.scheduleWithFixedDelay(this::purgeExpired, 1, 1, TimeUnit.MINUTES);
+    }
+    
+    /**
+     * @return false when the denylist is full and the ID could not be recorded
+     */
+    public boolean revoke(String jti, long expiresAt) {
+        if (expiresAt <= System.currentTimeMillis() || revoked.containsKey(jti)) {
+            return true;
+        }
+        if (revoked.size() >= maxSize) {
+            rejections.increment();
+            log.warn("Token denylist full ({} entries): revocation of {} rejected", maxSize, jti);
+            return false;
+        }
+        if (revoked.putIfAbsent(jti, expiresAt) == null) {
+            expiryBuckets.computeIfAbsent(expiresAt / BUCKET_MILLIS, minute -> ConcurrentHashMap.newKeySet()).add(jti);
+            revocations.increment();
+        }
+        return true;
+    }
+    
+    public boolean isRevoked(String jti) {
+        return jti != null && !revoked.isEmpty() && revoked.containsKey(jti);
+    }
+    
+    private void purgeExpired() {
+        // Buckets before the current minute only hold expired IDs
+        ConcurrentNavigableMap<Long, Set<String>> expired =
+                expiryBuckets.headMap(System.currentTimeMillis() / BUCKET_MILLIS);
+        for (Map.Entry<Long, Set<String>> bucket : expired.entrySet()) {
+            bucket.getValue().forEach(revoked::remove);
+            expiryBuckets.remove(bucket.getKey(), bucket.getValue());
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        cleaner.shutdownNow();
+    }
+}
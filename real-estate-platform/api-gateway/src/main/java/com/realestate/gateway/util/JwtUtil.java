@@ -1,8 +1,13 @@
 package com.realestate.gateway.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -12,19 +17,26 @@ import java.util.Date;
 
 @Component
 public class JwtUtil {
-    
+
+    private static final Logger log = LoggerFactory.getLogger(JwtUtil.class);
+
     @Value("${jwt.secret}")
     private String secret;
-    
+
     @Value("${jwt.expiration}")
     private Long expiration;
-    
-    private SecretKey getSigningKey() {
-        System.out.println("JWT Secret length: " + (secret != null ? secret.length() : 0));
-        System.out.println("JWT Secret (first 50 chars): " + (secret != null ? secret.substring(0, Math.min(50, secret.length())) : "NULL"));
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+
+    // Built once: the key and parser are immutable and thread-safe
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser().verifyWith(signingKey).build();
+        log.info("JWT verification ready (secret length: {})", secret.length());
     }
-    
+
     public String generateToken(String username, String role, String email) {
         return Jwts.builder()
                 .subject(username)
@@ -32,49 +44,50 @@ public class JwtUtil {
                 .claim("email", email)
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
-    
+
     public String generateToken(String username, String role) {
         return generateToken(username, role, ""); // Default for backward compatibility
     }
-    
+
     public String generateToken(String username) {
         return generateToken(username, "AGENT"); // Default for backward compatibility
     }
-    
+
+    /**
+     * Verifies the token and returns its claims.
+     *
+     * @throws JwtException if the token is malformed, badly signed or expired
+     */
+    public Claims verify(String token) {
+        // parseSignedClaims also rejects expired tokens
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
     public String extractRole(String token) {
-        Claims claims = extractClaims(token);
-        return claims.get("role", String.class);
+        return verify(token).get("role", String.class);
     }
-    
+
     public String extractEmail(String token) {
-        Claims claims = extractClaims(token);
-        return claims.get("email", String.class);
+        return verify(token).get("email", String.class);
     }
-    
+
     public Claims extractClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return verify(token);
     }
-    
+
     public String extractUsername(String token) {
-        return extractClaims(token).getSubject();
+        return verify(token).getSubject();
     }
-    
+
     public boolean isTokenValid(String token) {
         try {
-            Claims claims = extractClaims(token);
-            boolean isValid = claims.getExpiration().after(new Date());
-            System.out.println("JWT Validation - Token valid: " + isValid + ", Expiration: " + claims.getExpiration());
-            return isValid;
-        } catch (Exception e) {
-            System.err.println("JWT Validation Error: " + e.getMessage());
-            e.printStackTrace();
+            verify(token);
+            return true;
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("JWT validation failed: {}", e.getMessage());
             return false;
         }
     }
@@ -0,0 +1,104 @@
+package com.realestate.gateway.filter;
+
+import com.realestate.gateway.cache.PropertyResponseCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PropertyResponseCacheFilterTest {
+    
+    private static final int MAX_BODY_BYTES = 1024;
+    private static final String ETAG = "\"l-upstream\"";
+    
+    private PropertyResponseCache cache;
+    private PropertyResponseCacheFilter filter;
+    
+    @BeforeEach
+    void setUp() {
+        cache = new PropertyResponseCache(new SimpleMeterRegistry(), 100, 30, MAX_BODY_BYTES);
+        filter = new PropertyResponseCacheFilter(cache, true);
+    }
+    
+    @Test
+    void oversizedBodyOfUnknownLengthIsRelayedWithoutBeingCached() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/properties?size=5000"));
+        
+        filter.filter(exchange, upstream(MAX_BODY_BYTES * 3, false)).block();
+        
+        assertThat(exchange.getResponse().getBodyAsString().block()).hasSize(MAX_BODY_BYTES * 3);
+        assertThat(exchange.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("MISS");
+        assertThat(cache.size()).isZero();
+    }
+    
+    @Test
+    void oversizedBodyWithContentLengthIsRelayedWithoutBeingCached() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/properties"));
+        
+        filter.filter(exchange, upstream(MAX_BODY_BYTES + 1, true)).block();
+        
+        assertThat(exchange.getResponse().getBodyAsString().block()).hasSize(MAX_BODY_BYTES + 1);
+        assertThat(cache.size()).isZero();
+    }
+    
+    @Test
+    void smallBodyOfUnknownLengthIsCached() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/properties"));
+        
+        filter.filter(exchange, upstream(MAX_BODY_BYTES / 2, false)).block();
+        
+        assertThat(exchange.getResponse().getBodyAsString().block()).hasSize(MAX_BODY_BYTES / 2);
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.get("/api/properties").body()).hasSize(MAX_BODY_BYTES / 2);
+        assertThat(cache.get("/api/properties").etag()).isEqualTo(ETAG);
+    }
+    
+    @Test
+    void captureIsDroppedOnceTheLimitIsCrossed() {
+        BoundedBodyCapture capture = new BoundedBodyCapture(10);
+        
+        Long relayed = capture.relay(chunks(4, 4, 4))
+                .map(DataBuffer::readableByteCount)
+                .reduce(0L, Long::sum)
+                .block();
+        
+        assertThat(relayed).isEqualTo(12L);
+        assertThat(capture.captured()).isNull();
+    }
+    
+    // 200 JSON response of the given size, in 256-byte chunks, with an ETag like property-service
+    private static GatewayFilterChain upstream(int bodyBytes, boolean withContentLength) {
+        return exchange -> {
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            exchange.getResponse().getHeaders().setETag(ETAG);
+            if (withContentLength) {
+                exchange.getResponse().getHeaders().setContentLength(bodyBytes);
+            }
+            int[] sizes = new int[(bodyBytes + 255) / 256];
+            Arrays.fill(sizes, 256);
+            sizes[sizes.length - 1] = bodyBytes - 256 * (sizes.length - 1);
+            return exchange.getResponse().writeWith(chunks(sizes));
+        };
+    }
+    
+    private static Flux<DataBuffer> chunks(int... sizes) {
+        return Flux.fromArray(Arrays.stream(sizes).boxed().toArray(Integer[]::new))
+                .map(size -> {
+                    byte[] bytes = new byte[size];
+                    Arrays.fill(bytes, (byte) 'x');
+                    return DefaultDataBufferFactory.sharedInstance.wrap(bytes);
+                });
+    }
+}
@@ -0,0 +1,136 @@
+package com.realestate.benchmarks;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authenticating one gateway request (JwtAuthenticationFilter + JwtUtil), with
+ * the token drawn from a pool of active sessions:
+ * <ul>
+ *   <li>perCallParser: the original filter, four verifications each building its own key and parser</li>
+ *   <li>prebuiltParser: one verification with the parser built once (current JwtUtil)</li>
+ *   <li>hashedLruCache: the SHA-256-keyed LRU claims cache behind one monitor that JwtUtil
+ *       had before; it only pays off if it clearly beats prebuiltParser</li>
+ * </ul>
+ * Run with -t 4 (or more) as well: every event-loop thread contends for the cache monitor.
+ *
+ * Run: mvn -Pbenchmarks -pl benchmarks -am package && java -jar benchmarks/target/benchmarks.jar GatewayJwtVerify
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(1)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class GatewayJwtVerifyBenchmark {
+
+    private static final String SECRET = "realestate-secret-key-for-jwt-token-generation-minimum-256-bits";
+    private static final int SESSIONS = 1000;
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private String[] tokens;
+    private JwtParser parser;
+    private Map<String, Claims> verifiedClaims;
+
+    @Setup
+    public void setUp() {
+        SecretKey key = signingKey();
+        parser = Jwts.parser().verifyWith(key).build();
+        verifiedClaims = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Claims> eldest) {
+                return size() > 10000;
+            }
+        };
+
+        tokens = new String[SESSIONS];
+        for (int i = 0; i < SESSIONS; i++) {
+            tokens[i] = Jwts.builder()
+                    .id(UUID.randomUUID().toString())
+                    .subject("user" + i)
+                    .claim("typ", "access")
+                    .claim("role", "ROLE_AGENT")
+                    .claim("email", "user" + i + "@example.com")
+                    .issuedAt(new Date())
+                    .expiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                    .signWith(key)
+                    .compact();
+        }
+    }
+
+    @Benchmark
+    public Object perCallParser() {
+        String token = nextToken();
+        Claims claims = null;
+        for (int i = 0; i < 4; i++) {
+            claims = Jwts.parser().verifyWith(signingKey()).build().parseSignedClaims(token).getPayload();
+        }
+        return claims;
+    }
+
+    @Benchmark
+    public Object prebuiltParser() {
+        return parser.parseSignedClaims(nextToken()).getPayload();
+    }
+
+    @Benchmark
+    public Object hashedLruCache() {
+        String token = nextToken();
+        MessageDigest digest = SHA_256.get();
+        digest.reset();
+        String key = Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        Claims claims;
+        synchronized (verifiedClaims) {
+            claims = verifiedClaims.get(key);
+        }
+        if (claims != null && claims.getExpiration().after(new Date())) {
+            return claims;
+        }
+        claims = parser.parseSignedClaims(token).getPayload();
+        synchronized (verifiedClaims) {
+            verifiedClaims.put(key, claims);
+        }
+        return claims;
+    }
+
+    private String nextToken() {
+        return tokens[ThreadLocalRandom.current().nextInt(SESSIONS)];
+    }
+
+    private static SecretKey signingKey() {
+        return Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+    }
+}
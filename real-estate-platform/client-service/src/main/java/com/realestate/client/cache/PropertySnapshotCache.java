@@ -0,0 +1,152 @@
+package com.realestate.client.cache;
+
+import com.realestate.client.feign.PropertyServiceClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded LRU cache of property snapshots in front of PropertyServiceClient.
+ * Entries expire after a TTL and are dropped early when property-service
+ * reports a change through the internal invalidation endpoint.
+ * Hit/miss/eviction counters and the size gauge are published as property.cache.* metrics.
+ * Concurrent misses for the same property share one upstream call (property.singleflight.*).
+ */
+@Component
+@Slf4j
+public class PropertySnapshotCache {
+
+    private final PropertyServiceClient propertyServiceClient;
+    private final int maxSize;
+    private final long ttlMillis;
+
+    private final LinkedHashMap<Long, Entry> entries;
+
+    // Incremented on every invalidation so that loads started before it are not stored
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter sizeEvictions;
+    private final Counter expiredEvictions;
+    private final Counter invalidations;
+
+    private final SingleFlight<Long, Map<String, Object>> propertyLoads;
+
+    public PropertySnapshotCache(
+            PropertyServiceClient propertyServiceClient,
+            MeterRegistry meterRegistry,
+            @Value("${property.snapshot-cache.max-size:1000}") int maxSize,
+            @Value("${property.snapshot-cache.ttl-seconds:120}") long ttlSeconds) {
+        this.propertyServiceClient = propertyServiceClient;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                if (size() > PropertySnapshotCache.this.maxSize) {
+                    PropertySnapshotCache.this.sizeEvictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        this.hits = meterRegistry.counter("property.cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("property.cache.requests", "result", "miss");
+        this.sizeEvictions = meterRegistry.counter("property.cache.evictions", "cause", "size");
+        this.expiredEvictions = meterRegistry.counter("property.cache.evictions", "cause", "expired");
+        this.invalidations = meterRegistry.counter("property.cache.evictions", "cause", "invalidated");
+        Gauge.builder("property.cache.size", this, PropertySnapshotCache::size).register(meterRegistry);
+
+        this.propertyLoads = new SingleFlight<>(
+            meterRegistry.counter("property.singleflight.calls", "result", "executed"),
+            meterRegistry.counter("property.singleflight.calls", "result", "collapsed"));
+        Gauge.builder("property.singleflight.inflight", propertyLoads, SingleFlight::inFlightCount)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Returns the property as served by property-service, from cache when fresh.
+     * Feign errors are propagated to the caller, exactly like a direct client call.
+     */
+    public Map<String, Object> getProperty(Long propertyId) {
+        Map<String, Object> cached = lookup(propertyId);
+        if (cached != null) {
+            return cached;
+        }
+
+        // A popular property missing from the cache is fetched once for all concurrent callers
+        return propertyLoads.execute(propertyId, () -> {
+            long loadGeneration = generation.get();
+            Map<String, Object> property = propertyServiceClient.getPropertyById(propertyId);
+            return store(propertyId, property, loadGeneration);
+        });
+    }
+
+    public void evict(Long propertyId) {
+        generation.incrementAndGet();
+        synchronized (entries) {
+            if (entries.remove(propertyId) != null) {
+                invalidations.increment();
+            }
+        }
+        log.debug("Property snapshot evicted for property ID: {}", propertyId);
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        synchronized (entries) {
+            invalidations.increment(entries.size());
+            entries.clear();
+        }
+        log.info("Property snapshot cache cleared");
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private Map<String, Object> lookup(Long propertyId) {
+        synchronized (entries) {
+            Entry entry = entries.get(propertyId);
+            if (entry != null) {
+                if (entry.expiresAt > System.currentTimeMillis()) {
+                    hits.increment();
+                    return entry.property;
+                }
+                entries.remove(propertyId);
+                expiredEvictions.increment();
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    private Map<String, Object> store(Long propertyId, Map<String, Object> property, long loadGeneration) {
+        if (property == null) {
+            return null;
+        }
+        Map<String, Object> snapshot = Collections.unmodifiableMap(new HashMap<>(property));
+        synchronized (entries) {
+            if (generation.get() == loadGeneration) {
+                entries.put(propertyId, new Entry(snapshot, System.currentTimeMillis() + ttlMillis));
+            }
+        }
+        return snapshot;
+    }
+
+    private record Entry(Map<String, Object> property, long expiresAt) {
+    }
+}
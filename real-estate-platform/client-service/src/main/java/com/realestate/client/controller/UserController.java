@@ -5,9 +5,11 @@ import com.realestate.client.dto.RegisterRequestDTO;
 import com.realestate.client.dto.UserDTO;
 import com.realestate.client.model.User;
 import com.realestate.client.service.ClientService;
+import com.realestate.client.service.PasswordVerificationService;
 import com.realestate.client.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -39,6 +41,14 @@ public class UserController {
                 .orElse(ResponseEntity.status(401).build());
     }
     
+    // Login storm: tell the caller to retry instead of queueing more BCrypt work
+    @ExceptionHandler(PasswordVerificationService.OverloadedException.class)
+    public ResponseEntity<Void> handleVerificationOverload(PasswordVerificationService.OverloadedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .build();
+    }
+    
     private UserDTO convertToDTO(User user) {
         return new UserDTO(
             user.getId(),
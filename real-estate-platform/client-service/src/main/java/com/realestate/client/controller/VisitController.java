@@ -16,6 +16,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/visits")
@@ -91,4 +92,11 @@ public class VisitController {
             @RequestParam(defaultValue = "15") int days) {
         return ResponseEntity.ok(visitService.getRecentVisits(days));
     }
+    
+    @GetMapping("/statistics")
+    @Operation(summary = "Get visit counts by status, agent and day over the last days")
+    public ResponseEntity<Map<String, Object>> getVisitStatistics(
+            @RequestParam(defaultValue = "15") int days) {
+        return ResponseEntity.ok(visitService.getVisitStatistics(days));
+    }
 }
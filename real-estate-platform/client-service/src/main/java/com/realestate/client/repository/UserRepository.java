@@ -2,7 +2,11 @@ package com.realestate.client.repository;
 
 import com.realestate.client.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -18,5 +22,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
     
     Optional<User> findByUsernameAndIsActiveTrue(String username);
+    
+    // Compare-and-set: a password changed since the login was read is left alone
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :newHash WHERE u.id = :id AND u.password = :currentHash")
+    int updatePasswordHash(@Param("id") Long id,
+                           @Param("currentHash") String currentHash,
+                           @Param("newHash") String newHash);
 }
 
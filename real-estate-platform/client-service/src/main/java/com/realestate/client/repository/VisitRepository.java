@@ -5,6 +5,8 @@ import com.realestate.client.model.Visit.VisitStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -19,5 +21,16 @@ public interface VisitRepository extends JpaRepository<Visit, Long> {
     List<Visit> findByVisitDateAfter(LocalDateTime date);
     List<Visit> findByVisitDateBetween(LocalDateTime start, LocalDateTime end);
     long countByStatus(VisitStatus status);
+    
+    // Statistics: aggregates over visits dated after :since, computed by the database
+    @Query("SELECT v.status, COUNT(v) FROM Visit v WHERE v.visitDate > :since GROUP BY v.status")
+    List<Object[]> countByStatusSince(@Param("since") LocalDateTime since);
+    
+    @Query("SELECT v.agentId, COUNT(v) FROM Visit v WHERE v.visitDate > :since GROUP BY v.agentId")
+    List<Object[]> countByAgentSince(@Param("since") LocalDateTime since);
+    
+    @Query("SELECT CAST(v.visitDate AS LocalDate), COUNT(v) FROM Visit v WHERE v.visitDate > :since " +
+           "GROUP BY CAST(v.visitDate AS LocalDate)")
+    List<Object[]> countByDaySince(@Param("since") LocalDateTime since);
 }
 
@@ -0,0 +1,124 @@
+package com.realestate.client.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs BCrypt verification for logins on a dedicated bounded pool (one thread per core by
+ * default) instead of servlet threads. When the queue is full, or a verification waits
+ * longer than security.bcrypt.wait-timeout-ms, the login fails fast with
+ * {@link OverloadedException} so that callers can answer 503 rather than pile up.
+ *
+ * Metrics: auth.bcrypt.queue.depth, auth.bcrypt.active, auth.bcrypt.duration and
+ * auth.bcrypt.rejected{reason=queue_full|timeout}.
+ */
+@Service
+@Slf4j
+public class PasswordVerificationService {
+    
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long waitTimeoutMs;
+    
+    private final Timer duration;
+    private final Counter rejectedQueueFull;
+    private final Counter rejectedTimeout;
+    
+    public PasswordVerificationService(
+            PasswordEncoder passwordEncoder,
+            MeterRegistry meterRegistry,
+            @Value("${security.bcrypt.threads:0}") int threads,
+            @Value("${security.bcrypt.queue-capacity:64}") int queueCapacity,
+            @Value("${security.bcrypt.wait-timeout-ms:2000}") long waitTimeoutMs) {
+        this.passwordEncoder = passwordEncoder;
+        this.waitTimeoutMs = waitTimeoutMs;
+        
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "bcrypt-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        
+        this.duration = meterRegistry.timer("auth.bcrypt.duration");
+        this.rejectedQueueFull = meterRegistry.counter("auth.bcrypt.rejected", "reason", "queue_full");
+        this.rejectedTimeout = meterRegistry.counter("auth.bcrypt.rejected", "reason", "timeout");
+        Gauge.builder("auth.bcrypt.queue.depth", executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder("auth.bcrypt.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+        log.info("Password verification pool: {} threads, queue capacity {}", poolSize, queueCapacity);
+    }
+    
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return run(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+    
+    public String encode(String rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword));
+    }
+    
+    /**
+     * True when the stored hash uses a lower cost than security.bcrypt.strength.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+    
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> duration.recordCallable(task));
+        } catch (RejectedExecutionException e) {
+            rejectedQueueFull.increment();
+            throw new OverloadedException("Password verification queue is full");
+        }
+        
+        try {
+            return future.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedTimeout.increment();
+            throw new OverloadedException("Password verification timed out");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new OverloadedException("Interrupted while waiting for password verification");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password verification failed", e.getCause());
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+    
+    public static class OverloadedException extends RuntimeException {
+        public OverloadedException(String message) {
+            super(message);
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package com.realestate.client.service;
 
-import com.realestate.client.feign.PropertyServiceClient;
+import com.realestate.client.cache.PropertySnapshotCache;
 import com.realestate.client.model.PropertyInquiry;
 import com.realestate.client.repository.PropertyInquiryRepository;
 import lombok.RequiredArgsConstructor;
@@ -19,7 +19,7 @@ import java.util.Map;
 @Transactional
 public class PropertyInquiryService {
     private final PropertyInquiryRepository inquiryRepository;
-    private final PropertyServiceClient propertyServiceClient;
+    private final PropertySnapshotCache propertySnapshotCache;
     
     public Page<PropertyInquiry> getAllInquiries(Pageable pageable) {
         return inquiryRepository.findAll(pageable);
@@ -33,7 +33,7 @@ public class PropertyInquiryService {
     public PropertyInquiry createInquiry(PropertyInquiry inquiry) {
         // Récupérer l'agent de la propriété
         try {
-            Map<String, Object> property = propertyServiceClient.getPropertyById(inquiry.getPropertyId());
+            Map<String, Object> property = propertySnapshotCache.getProperty(inquiry.getPropertyId());
             if (property != null && property.get("agentId") != null) {
                 Long agentId = Long.valueOf(property.get("agentId").toString());
                 inquiry.setAgentId(agentId);
@@ -18,13 +18,15 @@ public class UserService {
     
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PasswordVerificationService passwordVerificationService;
     
     public Optional<User> findByUsername(String username) {
         return userRepository.findByUsernameAndIsActiveTrue(username);
     }
     
+    // Runs on the bounded BCrypt pool, throws OverloadedException when it is saturated
     public boolean validatePassword(User user, String rawPassword) {
-        return passwordEncoder.matches(rawPassword, user.getPassword());
+        return passwordVerificationService.matches(rawPassword, user.getPassword());
     }
     
     @Transactional
@@ -128,6 +130,7 @@ public class UserService {
             log.info("Password validation result: {}", passwordMatches);
             if (passwordMatches) {
                 log.info("Authentication successful for user: {}", username);
+                rehashIfNeeded(user, password);
                 return Optional.of(user);
             } else {
                 log.warn("Password mismatch for user: {}", username);
@@ -137,5 +140,23 @@ public class UserService {
         }
         return Optional.empty();
     }
+    
+    /**
+     * Re-encodes the password at the configured strength when the stored hash is weaker.
+     * Best effort: skipped when the BCrypt pool is busy, the next login will retry.
+     */
+    private void rehashIfNeeded(User user, String rawPassword) {
+        String currentHash = user.getPassword();
+        if (!passwordVerificationService.needsRehash(currentHash)) {
+            return;
+        }
+        try {
+            String newHash = passwordVerificationService.encode(rawPassword);
+            if (userRepository.updatePasswordHash(user.getId(), currentHash, newHash) == 1) {
+                log.info("Password hash upgraded for user: {}", user.getUsername());
+            }
+        } catch (PasswordVerificationService.OverloadedException e) {
+            log.debug("Password rehash postponed for user {}: {}", user.getUsername(), e.getMessage());
+        }
+    }
 }
-
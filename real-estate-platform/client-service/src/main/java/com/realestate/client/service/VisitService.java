@@ -1,7 +1,7 @@
 package com.realestate.client.service;
 
+import com.realestate.client.cache.PropertySnapshotCache;
 import com.realestate.client.dto.VisitRequestDTO;
-import com.realestate.client.feign.PropertyServiceClient;
 import com.realestate.client.model.Client;
 import com.realestate.client.model.Visit;
 import com.realestate.client.model.Visit.VisitStatus;
@@ -15,8 +15,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 @Service
 @RequiredArgsConstructor
@@ -25,7 +27,7 @@ import java.util.Map;
 public class VisitService {
     private final VisitRepository visitRepository;
     private final ClientRepository clientRepository;
-    private final PropertyServiceClient propertyServiceClient;
+    private final PropertySnapshotCache propertySnapshotCache;
     
     public Page<Visit> getAllVisits(Pageable pageable) {
         return visitRepository.findAll(pageable);
@@ -65,7 +67,7 @@ public class VisitService {
         // Get agent ID from property
         Long agentId = null;
         try {
-            Map<String, Object> property = propertyServiceClient.getPropertyById(dto.getPropertyId());
+            Map<String, Object> property = propertySnapshotCache.getProperty(dto.getPropertyId());
             if (property != null && property.get("agentId") != null) {
                 agentId = Long.valueOf(property.get("agentId").toString());
             }
@@ -117,4 +119,46 @@ public class VisitService {
         LocalDateTime since = LocalDateTime.now().minusDays(days);
         return visitRepository.findByVisitDateAfter(since);
     }
+    
+    /**
+     * Visit counts by status, agent and day for the last {@code days} days (same window
+     * as getRecentVisits), without loading the visits themselves.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getVisitStatistics(int days) {
+        LocalDateTime since = LocalDateTime.now().minusDays(days);
+        
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        for (VisitStatus status : VisitStatus.values()) {
+            byStatus.put(status.name(), 0L);
+        }
+        long total = 0;
+        for (Object[] row : visitRepository.countByStatusSince(since)) {
+            long count = ((Number) row[1]).longValue();
+            if (row[0] != null) {
+                byStatus.put(row[0].toString(), count);
+            }
+            total += count;
+        }
+        
+        Map<String, Long> byAgent = new LinkedHashMap<>();
+        visitRepository.countByAgentSince(since).forEach(row ->
+            byAgent.put(row[0] != null ? row[0].toString() : "unassigned", ((Number) row[1]).longValue()));
+        
+        // TreeMap: jours triés chronologiquement
+        Map<String, Long> byDay = new TreeMap<>();
+        visitRepository.countByDaySince(since).forEach(row ->
+            byDay.put(row[0].toString(), ((Number) row[1]).longValue()));
+        
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("days", days);
+        stats.put("since", since.toString());
+        stats.put("totalVisits", total);
+        stats.put("scheduledVisits", byStatus.get(VisitStatus.SCHEDULED.name()));
+        stats.put("completedVisits", byStatus.get(VisitStatus.COMPLETED.name()));
+        stats.put("visitsByStatus", byStatus);
+        stats.put("visitsByAgent", byAgent);
+        stats.put("visitsByDay", byDay);
+        return stats;
+    }
 }
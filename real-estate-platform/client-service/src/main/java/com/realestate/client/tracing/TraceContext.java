@@ -0,0 +1,28 @@
+package com.realestate.client.tracing;
+
+import org.slf4j.MDC;
+
+/**
+ * Trace id and sampling flag of the request being served, set by TraceContextFilter
+ * in the logging MDC (so every log line carries [traceId]). Detailed diagnostics are
+ * logged only when {@link #isSampled()}; failures are logged regardless.
+ */
+public final class TraceContext {
+
+    public static final String TRACE_ID_HEADER = "X-Trace-Id";
+    public static final String SAMPLED_HEADER = "X-Trace-Sampled";
+
+    static final String TRACE_ID_KEY = "traceId";
+    static final String SAMPLED_KEY = "traceSampled";
+
+    private TraceContext() {
+    }
+
+    public static String traceId() {
+        return MDC.get(TRACE_ID_KEY);
+    }
+
+    public static boolean isSampled() {
+        return MDC.get(SAMPLED_KEY) != null;
+    }
+}
@@ -2,6 +2,7 @@ import React, { useMemo } from 'react';
 import { AppBar, Toolbar, Typography, Button, Box, Chip } from '@mui/material';
 import { useNavigate } from 'react-router-dom';
 import { clearAuthData } from '../utils/auth';
+import { authAPI } from '../services/api';
 import { useAuth } from '../hooks/useAuth';
 import { getMenuSections } from '../config/menuConfig';
 
@@ -10,6 +11,11 @@ function Navbar() {
   const { isAuthenticated: authenticated, username, role } = useAuth();
 
   const handleLogout = () => {
+    // Best effort: revokes the tokens server-side, the local session is cleared regardless.
+    // Read them first: clearAuthData runs before the request interceptor does.
+    const token = localStorage.getItem('token');
+    const refreshToken = localStorage.getItem('refreshToken');
+    authAPI.logout(token, refreshToken).catch(() => {});
     clearAuthData();
     window.dispatchEvent(new Event('authStateChanged'));
     navigate('/login');
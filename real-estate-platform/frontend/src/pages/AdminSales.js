@@ -65,7 +65,7 @@ function AdminSales() {
     try {
       const [propsRes, salesRes, statsRes] = await Promise.all([
         propertyAPI.search({}),
-        saleAPI.getAllForSale(),
+        saleAPI.getAllForSaleUnpaged(),
         saleAPI.getStatistics()
       ]);
       
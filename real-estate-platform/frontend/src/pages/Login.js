@@ -133,6 +133,9 @@ function Login() {
       
       // Stocker EXACTEMENT les mêmes clés pour TOUS les rôles
       localStorage.setItem('token', normalizedToken);
+      if (response.data?.refreshToken) {
+        localStorage.setItem('refreshToken', response.data.refreshToken);
+      }
       localStorage.setItem('role', normalizedRole);
       if (normalizedUsername) {
         localStorage.setItem('username', normalizedUsername);
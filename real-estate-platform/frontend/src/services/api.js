@@ -12,7 +12,8 @@ const api = axios.create({
 api.interceptors.request.use(
   (config) => {
     const token = localStorage.getItem('token');
-    if (token) {
+    // Un Authorization explicite (logout, refresh) n'est pas remplacé
+    if (token && !config.headers.Authorization) {
       config.headers.Authorization = `Bearer ${token}`;
     }
     return config;
@@ -20,6 +21,26 @@ api.interceptors.request.use(
   (error) => Promise.reject(error)
 );
 
+// Concurrent 401s share a single refresh call (the refresh token is single-use)
+let refreshPromise = null;
+
+const refreshAccessToken = (refreshToken) => {
+  if (!refreshPromise) {
+    refreshPromise = axios.post(`${API_BASE_URL}/api/auth/refresh`, null, {
+      headers: { Authorization: `Bearer ${refreshToken}` },
+    })
+      .then((response) => {
+        localStorage.setItem('token', response.data.token);
+        localStorage.setItem('refreshToken', response.data.refreshToken);
+        return response.data.token;
+      })
+      .finally(() => {
+        refreshPromise = null;
+      });
+  }
+  return refreshPromise;
+};
+
 api.interceptors.response.use(
   (response) => {
     // Ne pas supprimer les données si c'est une réponse de login réussie
@@ -29,7 +50,23 @@ api.interceptors.response.use(
     }
     return response;
   },
-  (error) => {
+  async (error) => {
+    // Access tokens are short-lived: on 401, renew once with the refresh token and replay
+    const originalRequest = error.config;
+    const refreshToken = localStorage.getItem('refreshToken');
+    if (error.response?.status === 401 && refreshToken && originalRequest
+        && !originalRequest._retried && !originalRequest.url?.includes('/api/auth/')) {
+      originalRequest._retried = true;
+      try {
+        const token = await refreshAccessToken(refreshToken);
+        originalRequest.headers.Authorization = `Bearer ${token}`;
+        return api(originalRequest);
+      } catch (refreshError) {
+        console.log('Token refresh failed:', refreshError.response?.status);
+        localStorage.removeItem('refreshToken');
+      }
+    }
+    
     // DEBUG: Log AVANT toute suppression du localStorage
     console.log('=== API INTERCEPTOR ERROR ===');
     console.log('Error URL:', error.config?.url);
@@ -69,6 +106,7 @@ api.interceptors.response.use(
       
       // Supprimer les données d'authentification
       localStorage.removeItem('token');
+      localStorage.removeItem('refreshToken');
       localStorage.removeItem('username');
       localStorage.removeItem('role');
       
@@ -95,6 +133,10 @@ api.interceptors.response.use(
 
 export const authAPI = {
   login: (credentials) => api.post('/api/auth/login', credentials),
+  // Tokens are passed in by the caller: they are read before the local session is cleared
+  logout: (token, refreshToken) => api.post('/api/auth/logout', { refreshToken }, {
+    headers: token ? { Authorization: `Bearer ${token}` } : {},
+  }),
   register: (registerData) => api.post('/api/users/register', registerData),
 };
 
@@ -1,6 +1,8 @@
 import axios from 'axios';
 
 const API_URL = 'http://localhost:8080/api';
+// Taille maximale de page acceptée par GET /api/sales
+const SALE_PAGE_SIZE = 100;
 
 // Intercepteur pour ajouter le token JWT
 axios.interceptors.request.use(
@@ -17,8 +19,22 @@ axios.interceptors.request.use(
 // ============= SALE PROPERTIES =============
 
 export const saleAPI = {
-  // Récupérer tous les biens à vendre
-  getAllForSale: () => axios.get(`${API_URL}/sales`),
+  // Récupérer une page de biens à vendre (l'API est paginée, 100 par page au plus)
+  getAllForSale: (page = 0, size = SALE_PAGE_SIZE) =>
+    axios.get(`${API_URL}/sales`, { params: { page, size } }),
+  
+  // Récupérer tous les biens à vendre, page par page jusqu'à la dernière
+  getAllForSaleUnpaged: async () => {
+    const all = [];
+    for (let page = 0; ; page++) {
+      const res = await saleAPI.getAllForSale(page, SALE_PAGE_SIZE);
+      const rows = res.data || [];
+      all.push(...rows);
+      if (rows.length < SALE_PAGE_SIZE) {
+        return { ...res, data: all };
+      }
+    }
+  },
   
   // Récupérer un bien à vendre par ID
   getSaleById: (id) => axios.get(`${API_URL}/sales/${id}`),
@@ -35,6 +35,7 @@ export const clearAuthData = () => {
   console.log('Clearing auth data - explicit logout');
   
   localStorage.removeItem('token');
+  localStorage.removeItem('refreshToken');
   localStorage.removeItem('username');
   localStorage.removeItem('role');
   sessionStorage.removeItem('lastLoginTime');
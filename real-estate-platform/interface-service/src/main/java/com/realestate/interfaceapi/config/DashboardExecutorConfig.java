@@ -0,0 +1,35 @@
+package com.realestate.interfaceapi.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded pool running the dashboard's downstream calls in parallel. When it is
+ * saturated, calls are rejected and the affected dashboard sections are reported as
+ * unavailable instead of queueing behind slow services.
+ */
+@Configuration
+public class DashboardExecutorConfig {
+    
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService dashboardExecutor(
+            @Value("${dashboard.fan-out.pool-size:16}") int poolSize,
+            @Value("${dashboard.fan-out.queue-capacity:64}") int queueCapacity) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "dashboard-fan-out-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+    }
+}
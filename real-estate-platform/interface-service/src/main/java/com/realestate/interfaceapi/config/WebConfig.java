@@ -0,0 +1,19 @@
+package com.realestate.interfaceapi.config;
+
+import com.realestate.interfaceapi.security.RequiresRoleInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final RequiresRoleInterceptor requiresRoleInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(requiresRoleInterceptor);
+    }
+}
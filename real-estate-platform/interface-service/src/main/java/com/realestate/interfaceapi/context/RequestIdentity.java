@@ -0,0 +1,137 @@
+package com.realestate.interfaceapi.context;
+
+import com.realestate.interfaceapi.tracing.TraceContext;
+import feign.RequestTemplate;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Who a request is made for (the identity headers set by the gateway) and its trace,
+ * resolved once per inbound request by RequestIdentityFilter. The headers to send
+ * downstream are built at that point, so FeignRequestInterceptor applies them to a
+ * template in one call.
+ *
+ * Bound to the request thread; work running on other threads carries it explicitly:
+ * capture {@link #current()} on the request thread and run the work with
+ * {@link #call(Supplier)}. On the request thread the trace MDC belongs to
+ * TraceContextFilter; only call() sets it, and puts back what it found.
+ */
+public final class RequestIdentity {
+
+    private static final ThreadLocal<RequestIdentity> CURRENT = new ThreadLocal<>();
+
+    private final String userName;
+    private final String role;
+    private final String traceId;
+    private final boolean sampled;
+    private final Map<String, Collection<String>> forwardedHeaders;
+
+    private RequestIdentity(String authorization, String userName, String role, String email,
+                            String traceId, boolean sampled) {
+        this.userName = userName;
+        this.role = role;
+        this.traceId = traceId;
+        this.sampled = sampled;
+
+        Map<String, Collection<String>> headers = new LinkedHashMap<>();
+        putIfPresent(headers, "Authorization", authorization);
+        putIfPresent(headers, "X-User-Role", role);
+        putIfPresent(headers, "X-User-Name", userName);
+        putIfPresent(headers, "X-User-Email", email);
+        putIfPresent(headers, TraceContext.TRACE_ID_HEADER, traceId);
+        if (sampled) {
+            headers.put(TraceContext.SAMPLED_HEADER, List.of("1"));
+        }
+        this.forwardedHeaders = Map.copyOf(headers);
+    }
+
+    /**
+     * The identity of an inbound request; the trace must already be in TraceContext.
+     */
+    public static RequestIdentity fromRequest(HttpServletRequest request) {
+        return new RequestIdentity(
+                request.getHeader("Authorization"),
+                request.getHeader("X-User-Name"),
+                request.getHeader("X-User-Role"),
+                request.getHeader("X-User-Email"),
+                TraceContext.traceId(),
+                TraceContext.isSampled());
+    }
+
+    /**
+     * An identity for work not triggered by a user request (scheduled refreshes).
+     */
+    public static RequestIdentity service(String userName, String role) {
+        return new RequestIdentity(null, userName, role, null, null, false);
+    }
+
+    /**
+     * The identity bound to the current thread, or null outside of a request.
+     */
+    public static RequestIdentity current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs the call with this identity and its trace bound to the current thread,
+     * then restores the identity and trace MDC found there (none on a pool thread).
+     */
+    public <T> T call(Supplier<T> call) {
+        RequestIdentity previous = bind(this);
+        String previousTraceId = TraceContext.traceId();
+        boolean previousSampled = TraceContext.isSampled();
+        TraceContext.bind(traceId, sampled);
+        try {
+            return call.get();
+        } finally {
+            TraceContext.bind(previousTraceId, previousSampled);
+            bind(previous);
+        }
+    }
+
+    public void applyTo(RequestTemplate template) {
+        template.headers(forwardedHeaders);
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    /**
+     * Binds the identity (or none) to the current thread, leaving the MDC alone.
+     *
+     * @return the identity bound before, to restore afterwards
+     */
+    static RequestIdentity bind(RequestIdentity identity) {
+        RequestIdentity previous = CURRENT.get();
+        if (identity != null) {
+            CURRENT.set(identity);
+        } else {
+            CURRENT.remove();
+        }
+        return previous;
+    }
+
+    private static void putIfPresent(Map<String, Collection<String>> headers, String name, String value) {
+        if (value != null && !value.isEmpty()) {
+            headers.put(name, List.of(value));
+        }
+    }
+}
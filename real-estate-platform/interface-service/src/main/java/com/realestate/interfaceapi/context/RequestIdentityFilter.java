@@ -0,0 +1,33 @@
+package com.realestate.interfaceapi.context;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Resolves the RequestIdentity of each inbound request once and binds it to the
+ * request thread. Runs right after TraceContextFilter, whose trace it captures; the
+ * trace MDC stays TraceContextFilter's to clear, so lines logged on the way out keep it.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class RequestIdentityFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestIdentity previous = RequestIdentity.bind(RequestIdentity.fromRequest(request));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestIdentity.bind(previous);
+        }
+    }
+}
@@ -1,14 +1,20 @@
 package com.realestate.interfaceapi.controller;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.realestate.interfaceapi.dto.AuthRequestDTO;
 import com.realestate.interfaceapi.dto.AuthResponse;
+import com.realestate.interfaceapi.dto.LogoutRequestDTO;
+import com.realestate.interfaceapi.exception.AuthenticationUnavailableException;
 import com.realestate.interfaceapi.service.AuthService;
+import com.realestate.interfaceapi.tracing.TraceContext;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -28,23 +34,21 @@ public class AuthController {
     @Operation(summary = "Authenticate user and get JWT token")
     public ResponseEntity<AuthResponse> login(@RequestBody AuthRequestDTO request) {
         try {
-            log.info("Login attempt for username: {}", request.getUsername());
-            
             AuthResponse response = authService.authenticate(request.getUsername(), request.getPassword());
             
-            log.info("AuthService returned response: token={}, username={}, role={}, message={}", 
-                    response.getToken() != null ? "present" : "null",
-                    response.getUsername(),
-                    response.getRole(),
-                    response.getMessage());
+            if (TraceContext.isSampled()) {
+                log.info("AuthService returned response: token={}, username={}, role={}, message={}", 
+                        response.getToken() != null ? "present" : "null",
+                        response.getUsername(),
+                        response.getRole(),
+                        response.getMessage());
+            }
             
             if (response.getToken() == null) {
                 log.warn("Login failed for username: {} - {}", request.getUsername(), response.getMessage());
                 return ResponseEntity.status(401).body(response);
             }
             
-            log.info("Login successful for username: {}, preparing response", request.getUsername());
-            
             // Vérifier que tous les champs sont valides avant de retourner
             if (response.getUsername() == null || response.getRole() == null) {
                 log.error("Response has null fields: username={}, role={}", response.getUsername(), response.getRole());
@@ -56,18 +60,14 @@ public class AuthController {
                 return ResponseEntity.status(500).body(errorResponse);
             }
             
-            log.info("Returning successful response for username: {}", request.getUsername());
             return ResponseEntity.ok(response);
+        } catch (AuthenticationUnavailableException e) {
+            AuthResponse busyResponse = new AuthResponse(null, null, e.getMessage(), null);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(busyResponse);
         } catch (Exception e) {
-            log.error("=== EXCEPTION IN AUTH CONTROLLER ===");
-            log.error("Exception type: {}", e.getClass().getName());
-            log.error("Exception message: {}", e.getMessage());
-            log.error("Stack trace:", e);
-            if (e.getCause() != null) {
-                log.error("Cause: {}", e.getCause().getMessage());
-                log.error("Cause stack trace:", e.getCause());
-            }
-            log.error("=== END EXCEPTION IN CONTROLLER ===");
+            log.error("Login failed with an unexpected error for username: {}", request.getUsername(), e);
             AuthResponse errorResponse = new AuthResponse();
             errorResponse.setToken(null);
             errorResponse.setUsername(null);
@@ -76,5 +76,40 @@ public class AuthController {
             return ResponseEntity.status(500).body(errorResponse);
         }
     }
+    
+    /**
+     * The refresh token is sent as the Bearer token so that the gateway checks it against
+     * its revocation denylist before forwarding.
+     */
+    @PostMapping("/refresh")
+    @Operation(summary = "Exchange a refresh token for a new access token and refresh token")
+    public ResponseEntity<AuthResponse> refresh(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        String refreshToken = bearerToken(authorization);
+        if (refreshToken == null) {
+            return ResponseEntity.status(401).body(new AuthResponse(null, null, "Missing refresh token", null));
+        }
+        
+        AuthResponse response = authService.refresh(refreshToken);
+        if (response.getToken() == null) {
+            return ResponseEntity.status(401).body(response);
+        }
+        return ResponseEntity.ok(response);
+    }
+    
+    @PostMapping("/logout")
+    @Operation(summary = "Revoke the session: the refresh token in the body, and the access token if still valid")
+    public ResponseEntity<Void> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestBody(required = false) LogoutRequestDTO request) {
+        authService.logout(bearerToken(authorization), request != null ? request.getRefreshToken() : null);
+        return ResponseEntity.noContent().build();
+    }
+    
+    private static String bearerToken(String authorization) {
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return null;
+        }
+        return authorization.substring(7);
+    }
 }
-
@@ -1,10 +1,10 @@
 package com.realestate.interfaceapi.controller;
 
-import com.realestate.interfaceapi.service.DashboardService;
+import com.realestate.interfaceapi.security.RequiresRole;
+import com.realestate.interfaceapi.service.DashboardSnapshotCache;
 import com.realestate.interfaceapi.util.RoleChecker;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -19,20 +19,16 @@ import java.util.Map;
 @Slf4j
 public class DashboardController {
     
-    private final DashboardService dashboardService;
-    private final RoleChecker roleChecker;
+    private final DashboardSnapshotCache dashboardSnapshotCache;
     
     @GetMapping("/statistics")
+    // ADMIN must have access to all dashboard statistics
+    @RequiresRole({RoleChecker.Role.AGENT, RoleChecker.Role.ADMIN})
     @Operation(summary = "Get overall platform statistics aggregated from all services - AGENT/ADMIN only")
-    public ResponseEntity<Map<String, Object>> getDashboardStatistics(HttpServletRequest request) {
-        log.info("Dashboard statistics requested");
-        
-        // Check that user is AGENT or ADMIN
-        // ADMIN must have access to all dashboard statistics
-        roleChecker.checkAnyRole(request, RoleChecker.Role.AGENT, RoleChecker.Role.ADMIN);
-        
-        log.info("Access granted for dashboard statistics");
-        Map<String, Object> statistics = dashboardService.getDashboardStatistics();
+    public ResponseEntity<Map<String, Object>> getDashboardStatistics() {
+        log.debug("Dashboard statistics requested");
+        // Served from the last snapshot, refreshed in the background
+        Map<String, Object> statistics = dashboardSnapshotCache.getStatistics();
         return ResponseEntity.ok(statistics);
     }
 }
@@ -12,5 +12,9 @@ public class AuthResponse {
     private String username;
     private String message;
     private String role;
-}
+    private String refreshToken;
 
+    public AuthResponse(String token, String username, String message, String role) {
+        this(token, username, message, role, null);
+    }
+}
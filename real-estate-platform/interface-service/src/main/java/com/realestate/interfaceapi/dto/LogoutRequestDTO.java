@@ -0,0 +1,12 @@
+package com.realestate.interfaceapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogoutRequestDTO {
+    private String refreshToken;
+}
@@ -0,0 +1,12 @@
+package com.realestate.interfaceapi.exception;
+
+/**
+ * client-service cannot verify credentials right now (password verification overloaded).
+ * Answered with 503 and Retry-After so that clients back off instead of retrying at once.
+ */
+public class AuthenticationUnavailableException extends RuntimeException {
+    
+    public AuthenticationUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -8,10 +8,13 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import com.realestate.interfaceapi.dto.AuthRequestDTO;
 import com.realestate.interfaceapi.dto.UserDTO;
 
+import feign.Request;
+
 @FeignClient(name = "client-service", url = "http://localhost:8082")
 public interface ClientServiceClient {
     
@@ -21,15 +24,28 @@ public interface ClientServiceClient {
     @GetMapping("/api/clients")
     Map<String, Object> getAllClients();
     
+    // Page JSON: callers read totalElements, size=1 keeps the payload minimal.
+    // options: per-call connect/read timeouts (dashboard fan-out budget)
+    @GetMapping("/api/clients")
+    Map<String, Object> getClientsPage(@RequestParam("page") int page, @RequestParam("size") int size,
+            Request.Options options);
+    
     @GetMapping("/api/agents/{id}")
     Map<String, Object> getAgentById(@PathVariable Long id);
     
     @GetMapping("/api/agents")
     Map<String, Object> getAllAgents();
     
+    @GetMapping("/api/agents")
+    Map<String, Object> getAgentsPage(@RequestParam("page") int page, @RequestParam("size") int size,
+            Request.Options options);
+    
     @GetMapping("/api/visits/recent")
     List<Map<String, Object>> getRecentVisits();
     
+    @GetMapping("/api/visits/statistics")
+    Map<String, Object> getVisitStatistics(@RequestParam("days") int days, Request.Options options);
+    
     @GetMapping("/api/visits/client/{clientId}")
     List<Map<String, Object>> getVisitsByClient(@PathVariable Long clientId);
     
@@ -1,5 +1,6 @@
 package com.realestate.interfaceapi.feign;
 
+import feign.Request;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -20,8 +21,9 @@ public interface PropertyServiceClient {
             @RequestParam(required = false) String transactionType,
             @RequestParam(required = false) String status);
     
+    // options: per-call connect/read timeouts (dashboard fan-out budget)
     @GetMapping("/api/properties/statistics")
-    Map<String, Object> getPropertyStatistics();
+    Map<String, Object> getPropertyStatistics(Request.Options options);
     
     @GetMapping("/api/properties/agent/{agentId}")
     Map<String, Object> getPropertiesByAgent(@PathVariable Long agentId);
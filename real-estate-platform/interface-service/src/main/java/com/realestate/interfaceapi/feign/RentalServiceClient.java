@@ -0,0 +1,15 @@
+package com.realestate.interfaceapi.feign;
+
+import feign.Request;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
+
+import java.util.Map;
+
+@FeignClient(name = "rental-service")
+public interface RentalServiceClient {
+    
+    // options: per-call connect/read timeouts (dashboard fan-out budget)
+    @GetMapping("/api/rentals/statistics")
+    Map<String, Object> getRentalStatistics(Request.Options options);
+}
@@ -0,0 +1,37 @@
+package com.realestate.interfaceapi.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Parses the identity headers of each request once into a UserPrincipal, read by
+ * RequiresRoleInterceptor and RoleChecker. A request with an unknown role is answered
+ * 403 here, before reaching any controller.
+ */
+@Component
+@Slf4j
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class PrincipalFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try {
+            UserPrincipal.of(request);
+        } catch (SecurityException e) {
+            log.warn("{} {} rejected: {}", request.getMethod(), request.getRequestURI(), e.getMessage());
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, e.getMessage());
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,68 @@
+package com.realestate.interfaceapi.security;
+
+import com.realestate.interfaceapi.util.RoleChecker;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.Map;
+
+/**
+ * The caller as described by the gateway identity headers (X-User-Name, X-User-Role,
+ * X-User-Email), parsed once per request by PrincipalFilter and kept as a request
+ * attribute. The role is normalized once: ROLE_ prefix removed, upper-cased, CLIENT
+ * when the header is missing. An unknown role is rejected with a SecurityException
+ * (403), so {@link #role()} is never null.
+ */
+public record UserPrincipal(String username, String email, RoleChecker.Role role) {
+
+    public static final String ATTRIBUTE = UserPrincipal.class.getName();
+
+    private static final Map<String, RoleChecker.Role> ROLES_BY_NAME = Map.of(
+            "ADMIN", RoleChecker.Role.ADMIN,
+            "AGENT", RoleChecker.Role.AGENT,
+            "CLIENT", RoleChecker.Role.CLIENT);
+
+    /**
+     * The principal of the request, parsed on first use if PrincipalFilter did not run
+     * (e.g. error dispatches).
+     */
+    public static UserPrincipal of(HttpServletRequest request) {
+        Object principal = request.getAttribute(ATTRIBUTE);
+        if (principal instanceof UserPrincipal userPrincipal) {
+            return userPrincipal;
+        }
+        UserPrincipal parsed = fromHeaders(
+                request.getHeader("X-User-Name"),
+                request.getHeader("X-User-Email"),
+                request.getHeader("X-User-Role"));
+        request.setAttribute(ATTRIBUTE, parsed);
+        return parsed;
+    }
+
+    static UserPrincipal fromHeaders(String username, String email, String roleHeader) {
+        String roleName;
+        if (roleHeader == null || roleHeader.isEmpty()) {
+            roleName = "CLIENT"; // Default to CLIENT if not present
+        } else {
+            String cleanRole = roleHeader.startsWith("ROLE_") ? roleHeader.substring(5) : roleHeader;
+            roleName = cleanRole.toUpperCase().trim();
+        }
+        RoleChecker.Role role = ROLES_BY_NAME.get(roleName);
+        if (role == null) {
+            throw new SecurityException("Access denied: unknown role " + roleName);
+        }
+        return new UserPrincipal(username, email, role);
+    }
+
+    public String roleName() {
+        return role.name();
+    }
+
+    public boolean hasAnyRole(RoleChecker.Role... roles) {
+        for (RoleChecker.Role candidate : roles) {
+            if (role == candidate) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -3,9 +3,13 @@ package com.realestate.interfaceapi.service;
 import com.realestate.interfaceapi.dto.AuthRequestDTO;
 import com.realestate.interfaceapi.dto.AuthResponse;
 import com.realestate.interfaceapi.dto.UserDTO;
+import com.realestate.interfaceapi.exception.AuthenticationUnavailableException;
 import com.realestate.interfaceapi.feign.ClientServiceClient;
+import com.realestate.interfaceapi.tracing.TraceContext;
 import com.realestate.interfaceapi.util.JwtUtil;
 import feign.FeignException;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -17,56 +21,43 @@ public class AuthService {
     
     private final ClientServiceClient clientServiceClient;
     private final JwtUtil jwtUtil;
+    private final TokenRevocationNotifier tokenRevocationNotifier;
+    private final UsedRefreshTokens usedRefreshTokens;
     
     public AuthResponse authenticate(String username, String password) {
         try {
-            log.info("=== AUTHENTICATION START ===");
-            log.info("Attempting authentication for user: {}", username);
-            log.info("Password provided: {}", password != null ? "***" : "null");
+            boolean sampled = TraceContext.isSampled();
             
             // Authenticate user via client-service using OpenFeign
             AuthRequestDTO authRequest = new AuthRequestDTO(username, password);
-            log.info("AuthRequestDTO created: username={}", authRequest.getUsername());
             
             UserDTO user = null;
             try {
-                log.info("Calling client-service via Feign: POST /api/users/authenticate");
                 user = clientServiceClient.authenticate(authRequest);
-                log.info("Feign call completed successfully");
             } catch (FeignException e) {
-                log.error("=== FEIGN EXCEPTION DETAILS ===");
-                log.error("Status code: {}", e.status());
-                log.error("Error message: {}", e.getMessage());
-                log.error("Request URL: {}", e.request() != null ? e.request().url() : "unknown");
-                if (e.contentUTF8() != null) {
-                    log.error("Response body: {}", e.contentUTF8());
-                }
-                log.error("=== END FEIGN EXCEPTION ===");
-                
-                if (e.status() == 401) {
+                if (e.status() == 503) {
+                    log.warn("client-service overloaded, login rejected for user: {}", username);
+                    throw new AuthenticationUnavailableException("Authentication temporarily unavailable, retry later");
+                } else if (e.status() == 401) {
                     log.warn("Invalid credentials for user: {} (HTTP 401)", username);
                     return new AuthResponse(null, null, "Invalid credentials", null);
                 } else if (e.status() == 404) {
                     log.warn("User not found: {} (HTTP 404)", username);
                     return new AuthResponse(null, null, "User not found", null);
                 } else {
-                    log.error("Unexpected HTTP status: {} for user: {}", e.status(), username);
+                    log.error("Unexpected HTTP status {} from client-service for user: {} (url: {}, body: {})",
+                            e.status(), username,
+                            e.request() != null ? e.request().url() : "unknown",
+                            e.contentUTF8(), e);
                     return new AuthResponse(null, null, "Authentication service error: " + e.status(), null);
                 }
             }
             
-            log.info("=== FEIGN RESPONSE ANALYSIS ===");
-            log.info("User DTO received: {}", user != null ? "NOT NULL" : "NULL");
-            if (user != null) {
-                log.info("User ID: {}", user.getId());
-                log.info("Username: {}", user.getUsername());
-                log.info("Email: {}", user.getEmail());
-                log.info("Role: {}", user.getRole());
-                log.info("IsActive: {}", user.getIsActive());
-                log.info("AgentId: {}", user.getAgentId());
-                log.info("ClientId: {}", user.getClientId());
+            if (sampled && user != null) {
+                log.info("client-service user: id={}, username={}, role={}, isActive={}, agentId={}, clientId={}",
+                        user.getId(), user.getUsername(), user.getRole(), user.getIsActive(),
+                        user.getAgentId(), user.getClientId());
             }
-            log.info("=== END FEIGN RESPONSE ANALYSIS ===");
             
             if (user == null) {
                 log.warn("User is null for username: {}", username);
@@ -83,33 +74,78 @@ public class AuthService {
                 return new AuthResponse(null, null, "User role is missing", null);
             }
             
-            log.info("=== JWT TOKEN GENERATION ===");
-            log.info("Generating token for: username={}, role={}, email={}", 
-                    user.getUsername(), user.getRole(), user.getEmail());
-            
             // Generate JWT token with role and email
             String token = jwtUtil.generateToken(user.getUsername(), user.getRole(), user.getEmail());
+            String refreshToken = jwtUtil.generateRefreshToken(user.getUsername(), user.getRole(), user.getEmail());
             
-            log.info("Token generated successfully: {}", token != null ? token.substring(0, Math.min(50, token.length())) + "..." : "NULL");
-            log.info("=== END JWT TOKEN GENERATION ===");
-            
-            log.info("=== AUTHENTICATION SUCCESS ===");
             log.info("User authenticated successfully: {} with role: {}", username, user.getRole());
-            log.info("=== END AUTHENTICATION ===");
-            
-            return new AuthResponse(token, user.getUsername(), "Authentication successful", user.getRole());
+            return new AuthResponse(token, user.getUsername(), "Authentication successful", user.getRole(), refreshToken);
+        } catch (AuthenticationUnavailableException e) {
+            throw e;
         } catch (Exception e) {
-            log.error("=== UNEXPECTED EXCEPTION ===");
-            log.error("Exception type: {}", e.getClass().getName());
-            log.error("Exception message: {}", e.getMessage());
-            log.error("Stack trace:", e);
-            if (e.getCause() != null) {
-                log.error("Cause: {}", e.getCause().getMessage());
-                log.error("Cause stack trace:", e.getCause());
-            }
-            log.error("=== END UNEXPECTED EXCEPTION ===");
+            log.error("Authentication failed for user: {}", username, e);
             return new AuthResponse(null, null, "Authentication failed: " + e.getMessage(), null);
         }
     }
+    
+    /**
+     * Issues a new access token and a new refresh token from a valid refresh token, without
+     * calling client-service: the role and email are carried over from the refresh token.
+     * Each refresh token is used only once: its ID is claimed in UsedRefreshTokens before
+     * new tokens are issued, so a replay or a concurrent second refresh is rejected.
+     * A deactivated account keeps renewing until its refresh token expires or is revoked.
+     */
+    public AuthResponse refresh(String refreshToken) {
+        Claims claims;
+        try {
+            claims = jwtUtil.verifyRefreshToken(refreshToken);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Refresh token rejected: {}", e.getMessage());
+            return new AuthResponse(null, null, "Invalid or expired refresh token", null);
+        }
+        
+        String username = claims.getSubject();
+        String role = claims.get("role", String.class);
+        String email = claims.get("email", String.class);
+        
+        if (!usedRefreshTokens.markUsed(claims.getId(), claims.getExpiration().getTime())) {
+            log.warn("Refresh token {} of user {} already used or revoked", claims.getId(), username);
+            return new AuthResponse(null, null, "Invalid or expired refresh token", null);
+        }
+        tokenRevocationNotifier.tokenRevoked(claims.getId(), claims.getExpiration().getTime());
+        
+        String token = jwtUtil.generateToken(username, role, email);
+        String rotatedRefreshToken = jwtUtil.generateRefreshToken(username, role, email);
+        log.debug("Tokens refreshed for user: {}", username);
+        return new AuthResponse(token, username, "Token refreshed", role, rotatedRefreshToken);
+    }
+    
+    /**
+     * Revokes the refresh token of the session and, when given, its access token. Logout is
+     * public at the gateway: the refresh token is what authorizes it, so it still works
+     * after the access token has expired. Tokens that do not verify are ignored.
+     */
+    public void logout(String accessToken, String refreshToken) {
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            try {
+                Claims claims = jwtUtil.verifyRefreshToken(refreshToken);
+                usedRefreshTokens.markUsed(claims.getId(), claims.getExpiration().getTime());
+                tokenRevocationNotifier.tokenRevoked(claims.getId(), claims.getExpiration().getTime());
+                log.info("Session revoked for user: {}", claims.getSubject());
+            } catch (JwtException | IllegalArgumentException e) {
+                log.debug("Ignoring unverifiable refresh token on logout: {}", e.getMessage());
+            }
+        }
+        if (accessToken != null && !accessToken.isBlank()) {
+            try {
+                // An expired access token fails here and needs no revocation
+                Claims claims = jwtUtil.extractClaims(accessToken);
+                if (!JwtUtil.REFRESH_TYPE.equals(claims.get(JwtUtil.TYPE_CLAIM, String.class))) {
+                    tokenRevocationNotifier.tokenRevoked(claims.getId(), claims.getExpiration().getTime());
+                }
+            } catch (JwtException | IllegalArgumentException e) {
+                log.debug("Ignoring unverifiable access token on logout: {}", e.getMessage());
+            }
+        }
+    }
 }
-
@@ -1,111 +1,184 @@
 package com.realestate.interfaceapi.service;
 
+import com.realestate.interfaceapi.context.RequestIdentity;
 import com.realestate.interfaceapi.feign.ClientServiceClient;
 import com.realestate.interfaceapi.feign.PropertyServiceClient;
+import com.realestate.interfaceapi.feign.RentalServiceClient;
+import feign.Request;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class DashboardService {
     
+    // Same window as /api/visits/recent
+    private static final int RECENT_VISITS_DAYS = 15;
+    
     private final PropertyServiceClient propertyServiceClient;
     private final ClientServiceClient clientServiceClient;
+    private final RentalServiceClient rentalServiceClient;
+    private final ExecutorService dashboardExecutor;
+    
+    @Value("${dashboard.fan-out.timeout-ms:2000}")
+    private long callTimeoutMs;
     
+    /**
+     * All downstream calls are started at once on the dashboard executor, so the latency
+     * is that of the slowest call, bounded by dashboard.fan-out.timeout-ms. The same budget
+     * is passed to Feign as connect/read timeouts, so a timed-out call also releases its
+     * pool thread. A call that fails or times out leaves its section at zero and is listed
+     * in unavailableSections.
+     */
     @CircuitBreaker(name = "propertyService", fallbackMethod = "getDashboardStatisticsFallback")
     public Map<String, Object> getDashboardStatistics() {
         log.info("Fetching dashboard statistics from all services");
         
-        Map<String, Object> statistics = new HashMap<>();
+        Request.Options options = new Request.Options(
+                callTimeoutMs, TimeUnit.MILLISECONDS, callTimeoutMs, TimeUnit.MILLISECONDS, true);
+        CompletableFuture<Map<String, Object>> propertyStatsCall = call(() -> propertyServiceClient.getPropertyStatistics(options));
+        CompletableFuture<Map<String, Object>> clientsCall = call(() -> clientServiceClient.getClientsPage(0, 1, options));
+        CompletableFuture<Map<String, Object>> agentsCall = call(() -> clientServiceClient.getAgentsPage(0, 1, options));
+        CompletableFuture<Map<String, Object>> visitsCall = call(() -> clientServiceClient.getVisitStatistics(RECENT_VISITS_DAYS, options));
+        CompletableFuture<Map<String, Object>> rentalStatsCall = call(() -> rentalServiceClient.getRentalStatistics(options));
         
-        try {
-            Map<String, Object> propertyStats = propertyServiceClient.getPropertyStatistics();
+        Map<String, Object> statistics = emptyStatistics();
+        List<String> unavailableSections = new ArrayList<>();
+        
+        Map<String, Object> propertyStats = await(propertyStatsCall, "properties", unavailableSections);
+        if (propertyStats != null) {
             statistics.put("totalProperties", getLongValue(propertyStats, "totalProperties"));
             statistics.put("availableProperties", getLongValue(propertyStats, "availableProperties"));
             statistics.put("propertiesForSale", getLongValue(propertyStats, "propertiesForSale"));
             statistics.put("propertiesForRent", getLongValue(propertyStats, "propertiesForRent"));
             statistics.put("averagePrice", getBigDecimalValue(propertyStats, "averagePrice"));
-            
-            Map<String, Long> propertiesByType = new HashMap<>();
-            Map<String, Long> propertiesByCity = new HashMap<>();
-            
-            if (propertyStats.get("propertiesByType") instanceof Map) {
-                @SuppressWarnings("unchecked")
-                Map<String, ?> typeMap = (Map<String, ?>) propertyStats.get("propertiesByType");
-                typeMap.forEach((k, v) -> propertiesByType.put(k, ((Number) v).longValue()));
-            }
-            
-            if (propertyStats.get("propertiesByCity") instanceof Map) {
-                @SuppressWarnings("unchecked")
-                Map<String, ?> cityMap = (Map<String, ?>) propertyStats.get("propertiesByCity");
-                cityMap.forEach((k, v) -> propertiesByCity.put(k, ((Number) v).longValue()));
-            }
-            
-            statistics.put("propertiesByType", propertiesByType);
-            statistics.put("propertiesByCity", propertiesByCity);
-        } catch (Exception e) {
-            log.error("Error fetching property statistics: {}", e.getMessage());
+            statistics.put("propertiesByType", toCountMap(propertyStats.get("propertiesByType")));
+            statistics.put("propertiesByCity", toCountMap(propertyStats.get("propertiesByCity")));
         }
         
-        try {
-            statistics.put("totalClients", 10L);
-            statistics.put("totalAgents", 5L);
-        } catch (Exception e) {
-            log.error("Error fetching client statistics: {}", e.getMessage());
+        Map<String, Object> clients = await(clientsCall, "clients", unavailableSections);
+        if (clients != null) {
+            statistics.put("totalClients", getLongValue(clients, "totalElements"));
         }
         
-        try {
-            List<Map<String, Object>> recentVisits = clientServiceClient.getRecentVisits();
-            statistics.put("totalVisits", (long) recentVisits.size());
-            
-            long scheduled = recentVisits.stream()
-                    .filter(v -> "SCHEDULED".equals(v.get("status")))
-                    .count();
-            long completed = recentVisits.stream()
-                    .filter(v -> "COMPLETED".equals(v.get("status")))
-                    .count();
-            
-            statistics.put("scheduledVisits", scheduled);
-            statistics.put("completedVisits", completed);
-            statistics.put("recentActivities", (long) recentVisits.size());
-        } catch (Exception e) {
-            log.error("Error fetching visit statistics: {}", e.getMessage());
-            statistics.put("totalVisits", 0L);
-            statistics.put("scheduledVisits", 0L);
-            statistics.put("completedVisits", 0L);
+        Map<String, Object> agents = await(agentsCall, "agents", unavailableSections);
+        if (agents != null) {
+            statistics.put("totalAgents", getLongValue(agents, "totalElements"));
         }
         
-        log.info("Dashboard statistics calculated successfully");
+        // Counts are aggregated by client-service, the visits themselves are not transferred
+        Map<String, Object> visitStats = await(visitsCall, "visits", unavailableSections);
+        if (visitStats != null) {
+            long totalVisits = getLongValue(visitStats, "totalVisits");
+            statistics.put("totalVisits", totalVisits);
+            statistics.put("scheduledVisits", getLongValue(visitStats, "scheduledVisits"));
+            statistics.put("completedVisits", getLongValue(visitStats, "completedVisits"));
+            statistics.put("recentActivities", totalVisits);
+        }
+        
+        Map<String, Object> rentalStats = await(rentalStatsCall, "rentals", unavailableSections);
+        if (rentalStats != null) {
+            statistics.put("totalRentals", getLongValue(rentalStats, "totalRentals"));
+            statistics.put("activeRentals", getLongValue(rentalStats, "activeRentals"));
+            statistics.put("pendingBookings", getLongValue(rentalStats, "pendingBookings"));
+            statistics.put("confirmedBookings", getLongValue(rentalStats, "confirmedBookings"));
+            statistics.put("completedBookings", getLongValue(rentalStats, "completedBookings"));
+            statistics.put("cancelledBookings", getLongValue(rentalStats, "cancelledBookings"));
+        }
+        
+        statistics.put("partial", !unavailableSections.isEmpty());
+        statistics.put("unavailableSections", unavailableSections);
+        log.info("Dashboard statistics calculated ({} sections unavailable)", unavailableSections.size());
         return statistics;
     }
     
     public Map<String, Object> getDashboardStatisticsFallback(Exception e) {
         log.warn("Using fallback for dashboard statistics: {}", e.getMessage());
-        Map<String, Object> fallback = new HashMap<>();
-        fallback.put("totalProperties", 0L);
-        fallback.put("availableProperties", 0L);
-        fallback.put("propertiesForSale", 0L);
-        fallback.put("propertiesForRent", 0L);
-        fallback.put("averagePrice", BigDecimal.ZERO);
-        fallback.put("propertiesByType", new HashMap<>());
-        fallback.put("propertiesByCity", new HashMap<>());
-        fallback.put("totalClients", 0L);
-        fallback.put("totalAgents", 0L);
-        fallback.put("totalVisits", 0L);
-        fallback.put("scheduledVisits", 0L);
-        fallback.put("completedVisits", 0L);
-        fallback.put("recentActivities", 0L);
+        Map<String, Object> fallback = emptyStatistics();
+        fallback.put("partial", true);
+        fallback.put("unavailableSections", List.of("properties", "clients", "agents", "visits", "rentals"));
         return fallback;
     }
     
+    private Map<String, Object> emptyStatistics() {
+        Map<String, Object> statistics = new HashMap<>();
+        statistics.put("totalProperties", 0L);
+        statistics.put("availableProperties", 0L);
+        statistics.put("propertiesForSale", 0L);
+        statistics.put("propertiesForRent", 0L);
+        statistics.put("averagePrice", BigDecimal.ZERO);
+        statistics.put("propertiesByType", new HashMap<>());
+        statistics.put("propertiesByCity", new HashMap<>());
+        statistics.put("totalClients", 0L);
+        statistics.put("totalAgents", 0L);
+        statistics.put("totalVisits", 0L);
+        statistics.put("scheduledVisits", 0L);
+        statistics.put("completedVisits", 0L);
+        statistics.put("recentActivities", 0L);
+        statistics.put("totalRentals", 0L);
+        statistics.put("activeRentals", 0L);
+        statistics.put("pendingBookings", 0L);
+        statistics.put("confirmedBookings", 0L);
+        statistics.put("completedBookings", 0L);
+        statistics.put("cancelledBookings", 0L);
+        return statistics;
+    }
+    
+    /**
+     * Runs the call on the dashboard executor with the caller's identity bound,
+     * so FeignRequestInterceptor still sends it downstream.
+     */
+    private <T> CompletableFuture<T> call(Supplier<T> downstreamCall) {
+        RequestIdentity identity = RequestIdentity.current();
+        try {
+            return CompletableFuture.supplyAsync(
+                    () -> identity != null ? identity.call(downstreamCall) : downstreamCall.get(),
+                    dashboardExecutor)
+                .orTimeout(callTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (RuntimeException e) {
+            // RejectedExecutionException: the pool is saturated
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+    
+    private <T> T await(CompletableFuture<T> future, String section, List<String> unavailableSections) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            log.error("Error fetching {} statistics: {}", section, cause.toString());
+            unavailableSections.add(section);
+            return null;
+        }
+    }
+    
+    private Map<String, Long> toCountMap(Object value) {
+        Map<String, Long> counts = new HashMap<>();
+        if (value instanceof Map<?, ?> map) {
+            map.forEach((k, v) -> {
+                if (v instanceof Number number) {
+                    counts.put(String.valueOf(k), number.longValue());
+                }
+            });
+        }
+        return counts;
+    }
+    
     private Long getLongValue(Map<String, Object> map, String key) {
         Object value = map.get(key);
         if (value instanceof Number) {
@@ -0,0 +1,173 @@
+package com.realestate.interfaceapi.service;
+
+import com.realestate.interfaceapi.context.RequestIdentity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Stale-while-revalidate cache of the dashboard statistics. Requests are answered from
+ * the last good snapshot (with its age) and only trigger a background refresh when it is
+ * older than dashboard.cache.refresh-after-ms; a schedule also refreshes it periodically.
+ * All refreshes share one in-flight upstream call.
+ *
+ * A refresh that hits the circuit breaker fallback or only gets partial results does not
+ * replace a complete snapshot: agents keep seeing the last good numbers, flagged as stale.
+ *
+ * Refreshes run with a service identity (dashboard.refresh.*) since they are not tied to
+ * the request that triggered them; the statistics are the same for every AGENT/ADMIN.
+ * Metrics: dashboard.refresh{result}, dashboard.refresh.collapsed, dashboard.snapshot.age.
+ */
+@Component
+@Slf4j
+public class DashboardSnapshotCache {
+    
+    private final DashboardService dashboardService;
+    private final RequestIdentity refreshIdentity;
+    private final long refreshAfterMs;
+    private final long firstLoadTimeoutMs;
+    
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<Snapshot>> inFlight = new AtomicReference<>();
+    private final Counter refreshed;
+    private final Counter keptStale;
+    private final Counter failed;
+    private final Counter collapsed;
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "dashboard-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    public DashboardSnapshotCache(
+            DashboardService dashboardService,
+            MeterRegistry meterRegistry,
+            @Value("${dashboard.cache.refresh-after-ms:30000}") long refreshAfterMs,
+            @Value("${dashboard.cache.first-load-timeout-ms:5000}") long firstLoadTimeoutMs,
+            @Value("${dashboard.refresh.user:dashboard-refresh}") String refreshUser,
+            @Value("${dashboard.refresh.role:ROLE_AGENT}") String refreshRole) {
+        this.dashboardService = dashboardService;
+        this.refreshAfterMs = refreshAfterMs;
+        this.firstLoadTimeoutMs = firstLoadTimeoutMs;
+        this.refreshIdentity = RequestIdentity.service(refreshUser, refreshRole);
+        
+        this.refreshed = meterRegistry.counter("dashboard.refresh", "result", "success");
+        this.keptStale = meterRegistry.counter("dashboard.refresh", "result", "kept_stale");
+        this.failed = meterRegistry.counter("dashboard.refresh", "result", "failed");
+        this.collapsed = meterRegistry.counter("dashboard.refresh.collapsed");
+        Gauge.builder("dashboard.snapshot.age", snapshot,
+                    ref -> ref.get() != null ? ref.get().ageMillis() / 1000.0 : Double.NaN)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * The cached statistics plus snapshotFetchedAt, snapshotAgeSeconds and stale. Only the
+     * very first call waits for upstream; if that fails, the zero-filled fallback is returned.
+     */
+    public Map<String, Object> getStatistics() {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            try {
+                current = refresh().get(firstLoadTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (Exception e) {
+                log.warn("No dashboard snapshot available yet: {}", e.toString());
+                return dashboardService.getDashboardStatisticsFallback(e);
+            }
+        } else if (current.ageMillis() > refreshAfterMs) {
+            refresh();
+        }
+        return current.toResponse(refreshAfterMs);
+    }
+    
+    @Scheduled(initialDelayString = "${dashboard.cache.refresh-interval-ms:30000}",
+               fixedDelayString = "${dashboard.cache.refresh-interval-ms:30000}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+    
+    /**
+     * Starts a refresh unless one is already running, in which case its future is returned.
+     * The future completes with the snapshot in use afterwards (possibly the previous one).
+     */
+    CompletableFuture<Snapshot> refresh() {
+        while (true) {
+            CompletableFuture<Snapshot> running = inFlight.get();
+            if (running != null) {
+                collapsed.increment();
+                return running;
+            }
+            CompletableFuture<Snapshot> refresh = new CompletableFuture<>();
+            if (inFlight.compareAndSet(null, refresh)) {
+                try {
+                    refreshExecutor.execute(() -> load(refresh));
+                } catch (RuntimeException e) {
+                    inFlight.compareAndSet(refresh, null);
+                    refresh.completeExceptionally(e);
+                }
+                return refresh;
+            }
+        }
+    }
+    
+    private void load(CompletableFuture<Snapshot> refresh) {
+        try {
+            Map<String, Object> statistics = refreshIdentity.call(dashboardService::getDashboardStatistics);
+            Snapshot previous = snapshot.get();
+            boolean partial = Boolean.TRUE.equals(statistics.get("partial"));
+            
+            if (!partial || previous == null || previous.partial()) {
+                Snapshot loaded = new Snapshot(statistics, Instant.now(), partial);
+                snapshot.set(loaded);
+                refreshed.increment();
+                refresh.complete(loaded);
+            } else {
+                log.warn("Dashboard refresh incomplete (unavailable: {}), keeping snapshot from {}",
+                        statistics.get("unavailableSections"), previous.fetchedAt());
+                keptStale.increment();
+                refresh.complete(previous);
+            }
+        } catch (Throwable t) {
+            log.error("Dashboard refresh failed: {}", t.toString());
+            failed.increment();
+            refresh.completeExceptionally(t);
+        } finally {
+            inFlight.compareAndSet(refresh, null);
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+    
+    record Snapshot(Map<String, Object> statistics, Instant fetchedAt, boolean partial) {
+        
+        long ageMillis() {
+            return System.currentTimeMillis() - fetchedAt.toEpochMilli();
+        }
+        
+        Map<String, Object> toResponse(long refreshAfterMs) {
+            long age = ageMillis();
+            Map<String, Object> response = new HashMap<>(statistics);
+            response.put("snapshotFetchedAt", fetchedAt.toString());
+            response.put("snapshotAgeSeconds", age / 1000);
+            response.put("stale", age > refreshAfterMs);
+            return response;
+        }
+    }
+}
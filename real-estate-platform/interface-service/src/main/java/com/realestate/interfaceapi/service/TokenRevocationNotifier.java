@@ -0,0 +1,87 @@
+package com.realestate.interfaceapi.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adds revoked token IDs to the denylist of every api-gateway instance, so that revoked
+ * access tokens stop being accepted before they expire. Calls are made on a background
+ * thread; nothing is dropped: a failed call (gateway down, denylist full) is retried with
+ * backoff, then logged. A gateway that still misses an ID, or restarts, accepts the access
+ * token until it expires (jwt.access-expiration). Refresh-token reuse does not depend on
+ * this: it is rejected locally by UsedRefreshTokens.
+ */
+@Component
+@Slf4j
+public class TokenRevocationNotifier {
+
+    private static final long[] RETRY_DELAYS_MS = {1000, 5000, 30000};
+
+    private final DiscoveryClient discoveryClient;
+    private final RestClient restClient = RestClient.create();
+    private final ScheduledThreadPoolExecutor executor;
+
+    @Value("${jwt.revocation.target:api-gateway}")
+    private String targetService;
+
+    @Value("${internal.api-token:}")
+    private String internalApiToken;
+
+    public TokenRevocationNotifier(DiscoveryClient discoveryClient) {
+        this.discoveryClient = discoveryClient;
+        this.executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "token-revocation");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @param jti       token ID (jti claim)
+     * @param expiresAt token expiry in epoch millis; gateways forget the ID after it
+     */
+    public void tokenRevoked(String jti, long expiresAt) {
+        if (jti == null) {
+            return;
+        }
+        executor.execute(() -> {
+            for (ServiceInstance instance : discoveryClient.getInstances(targetService)) {
+                notifyGateway(instance.getUri(), jti, expiresAt, 0);
+            }
+        });
+    }
+
+    private void notifyGateway(URI gateway, String jti, long expiresAt, int attempt) {
+        try {
+            restClient.post()
+                .uri(gateway + "/internal/tokens/revoked")
+                .header("X-Internal-Token", internalApiToken)
+                .body(Map.of("jti", jti, "expiresAt", expiresAt))
+                .retrieve()
+                .toBodilessEntity();
+        } catch (Exception e) {
+            if (attempt < RETRY_DELAYS_MS.length && expiresAt > System.currentTimeMillis()) {
+                executor.schedule(() -> notifyGateway(gateway, jti, expiresAt, attempt + 1),
+                    RETRY_DELAYS_MS[attempt], TimeUnit.MILLISECONDS);
+            } else {
+                log.error("Could not revoke token {} on {} ({}) after {} attempts: {}",
+                    jti, targetService, gateway, attempt + 1, e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,95 @@
+package com.realestate.interfaceapi.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * IDs (jti) of refresh tokens already rotated or logged out, kept until the token expires.
+ * This is what makes a refresh token single-use: refresh() claims the ID before issuing new
+ * tokens, so a replayed token, or the loser of two concurrent refreshes, is rejected here
+ * whether or not the gateways received the revocation.
+ *
+ * The set is per instance: with several interface-service instances, route
+ * /api/auth/refresh and /api/auth/logout with session affinity or share the set.
+ * At max-size, new IDs are rejected (the refresh fails and the user logs in again)
+ * rather than forgetting recorded ones.
+ */
+@Component
+@Slf4j
+public class UsedRefreshTokens {
+    
+    private static final long BUCKET_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    
+    // jti -> expiry (epoch millis)
+    private final Map<String, Long> used = new ConcurrentHashMap<>();
+    // expiry minute -> jtis expiring in it
+    private final ConcurrentNavigableMap<Long, Set<String>> expiryBuckets = new ConcurrentSkipListMap<>();
+    private final int maxSize;
+    private final Counter reused;
+    private final Counter rejected;
+    private final ScheduledExecutorService cleaner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "used-refresh-tokens-cleaner");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    public UsedRefreshTokens(MeterRegistry meterRegistry,
+                             @Value("${jwt.used-refresh-tokens.max-size:200000}") int maxSize) {
+        this.maxSize = maxSize;
+        this.reused = meterRegistry.counter("auth.refresh-token.reused");
+        this.rejected = meterRegistry.counter("auth.refresh-token.ledger-full");
+        Gauge.builder("auth.refresh-token.used", used, Map::size).register(meterRegistry);
+        cleaner.scheduleWithFixedDelay(this::purgeExpired, 1, 1, TimeUnit.MINUTES);
+    }
+    
+    /**
+     * Records the ID as used.
+     *
+     * @return true for the first use only; false if it was already used or cannot be recorded
+     */
+    public boolean markUsed(String jti, long expiresAt) {
+        if (jti == null) {
+            return false;
+        }
+        if (used.size() >= maxSize && !used.containsKey(jti)) {
+            rejected.increment();
+            log.warn("Used refresh-token set full ({} entries): refresh with {} rejected", maxSize, jti);
+            return false;
+        }
+        if (used.putIfAbsent(jti, expiresAt) != null) {
+            reused.increment();
+            return false;
+        }
+        expiryBuckets.computeIfAbsent(expiresAt / BUCKET_MILLIS, minute -> ConcurrentHashMap.newKeySet()).add(jti);
+        return true;
+    }
+    
+    private void purgeExpired() {
+        // Buckets before the current minute only hold expired IDs
+        ConcurrentNavigableMap<Long, Set<String>> expired =
+                expiryBuckets.headMap(System.currentTimeMillis() / BUCKET_MILLIS);
+        for (Map.Entry<Long, Set<String>> bucket : expired.entrySet()) {
+            bucket.getValue().forEach(used::remove);
+            expiryBuckets.remove(bucket.getKey(), bucket.getValue());
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        cleaner.shutdownNow();
+    }
+}
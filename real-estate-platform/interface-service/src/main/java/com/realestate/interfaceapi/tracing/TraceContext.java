@@ -0,0 +1,49 @@
+package com.realestate.interfaceapi.tracing;
+
+import org.slf4j.MDC;
+
+/**
+ * Trace id and sampling flag of the request being served, set by TraceContextFilter
+ * in the logging MDC (so every log line carries [traceId]). Detailed diagnostics are
+ * logged only when {@link #isSampled()}; failures are logged regardless.
+ */
+public final class TraceContext {
+
+    public static final String TRACE_ID_HEADER = "X-Trace-Id";
+    public static final String SAMPLED_HEADER = "X-Trace-Sampled";
+
+    static final String TRACE_ID_KEY = "traceId";
+    static final String SAMPLED_KEY = "traceSampled";
+
+    private TraceContext() {
+    }
+
+    public static String traceId() {
+        return MDC.get(TRACE_ID_KEY);
+    }
+
+    public static boolean isSampled() {
+        return MDC.get(SAMPLED_KEY) != null;
+    }
+
+    /**
+     * Sets the trace of the current thread, e.g. on a worker running for a request.
+     */
+    public static void bind(String traceId, boolean sampled) {
+        if (traceId != null) {
+            MDC.put(TRACE_ID_KEY, traceId);
+        } else {
+            MDC.remove(TRACE_ID_KEY);
+        }
+        if (sampled) {
+            MDC.put(SAMPLED_KEY, "1");
+        } else {
+            MDC.remove(SAMPLED_KEY);
+        }
+    }
+
+    public static void clear() {
+        MDC.remove(TRACE_ID_KEY);
+        MDC.remove(SAMPLED_KEY);
+    }
+}
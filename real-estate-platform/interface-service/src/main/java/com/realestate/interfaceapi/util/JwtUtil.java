@@ -1,61 +1,108 @@
 package com.realestate.interfaceapi.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.UUID;
 
+/**
+ * Issues short-lived access tokens and longer-lived refresh tokens, both signed with
+ * jwt.secret. The "typ" claim tells them apart (the gateway only accepts refresh tokens
+ * on /api/auth/refresh) and "jti" identifies a token for revocation.
+ */
 @Component
 public class JwtUtil {
-    
+
+    public static final String TYPE_CLAIM = "typ";
+    public static final String ACCESS_TYPE = "access";
+    public static final String REFRESH_TYPE = "refresh";
+
     @Value("${jwt.secret:realestate-secret-key-for-jwt-token-generation-minimum-256-bits}")
     private String secret;
-    
-    @Value("${jwt.expiration:86400000}")
-    private Long expiration;
-    
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+
+    @Value("${jwt.access-expiration:900000}")
+    private Long accessExpiration;
+
+    @Value("${jwt.refresh-expiration:604800000}")
+    private Long refreshExpiration;
+
+    // Built once: the key and parser are immutable and thread-safe
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser().verifyWith(signingKey).build();
     }
-    
+
     public String generateToken(String username, String role, String email) {
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(username)
+                .claim(TYPE_CLAIM, ACCESS_TYPE)
                 .claim("role", role)
                 .claim("email", email)
                 .issuedAt(new Date())
-                .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .expiration(new Date(System.currentTimeMillis() + accessExpiration))
+                .signWith(signingKey)
                 .compact();
     }
-    
+
+    public String generateRefreshToken(String username, String role, String email) {
+        return Jwts.builder()
+                .id(UUID.randomUUID().toString())
+                .subject(username)
+                .claim(TYPE_CLAIM, REFRESH_TYPE)
+                .claim("role", role)
+                .claim("email", email)
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + refreshExpiration))
+                .signWith(signingKey)
+                .compact();
+    }
+
+    /**
+     * Verifies a refresh token and returns its claims.
+     *
+     * @throws JwtException if the token is malformed, badly signed, expired or not a refresh token
+     */
+    public Claims verifyRefreshToken(String token) {
+        Claims claims = extractClaims(token);
+        if (!REFRESH_TYPE.equals(claims.get(TYPE_CLAIM, String.class))) {
+            throw new JwtException("Not a refresh token");
+        }
+        return claims;
+    }
+
     public String extractRole(String token) {
         Claims claims = extractClaims(token);
         return claims.get("role", String.class);
     }
-    
+
     public String extractEmail(String token) {
         Claims claims = extractClaims(token);
         return claims.get("email", String.class);
     }
-    
+
     public Claims extractClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        // parseSignedClaims also rejects expired tokens
+        return parser.parseSignedClaims(token).getPayload();
     }
-    
+
     public String extractUsername(String token) {
         return extractClaims(token).getSubject();
     }
-    
+
     public boolean isTokenValid(String token) {
         try {
             Claims claims = extractClaims(token);
@@ -65,4 +112,3 @@ public class JwtUtil {
         }
     }
 }
-
@@ -4,6 +4,7 @@ import com.realestate.property.dto.PropertyDTO;
 import com.realestate.property.model.Property;
 import com.realestate.property.model.Property.*;
 import com.realestate.property.service.PropertyService;
+import com.realestate.property.util.PropertyETags;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -14,9 +15,13 @@ import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/properties")
@@ -24,6 +29,8 @@ import java.util.Map;
 @Tag(name = "Properties", description = "Property management APIs - Sale and Rental")
 public class PropertyController {
     
+    private static final int MAX_BATCH_SIZE = 500;
+    
     private final PropertyService propertyService;
     
     @GetMapping
@@ -32,21 +39,39 @@ public class PropertyController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "DESC") String sortDir) {
+            @RequestParam(defaultValue = "DESC") String sortDir,
+            WebRequest webRequest) {
         
         Sort sort = sortDir.equalsIgnoreCase("ASC") ? 
                 Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
         Page<PropertyDTO> properties = propertyService.getAllProperties(PageRequest.of(page, size, sort));
-        return ResponseEntity.ok(properties);
+        return pageResponse(properties, webRequest);
     }
     
     @GetMapping("/{id}")
     @Operation(summary = "Get property by ID")
-    public ResponseEntity<PropertyDTO> getPropertyById(@PathVariable Long id) {
+    public ResponseEntity<PropertyDTO> getPropertyById(@PathVariable Long id, WebRequest webRequest) {
+        // The version is read on its own so that a 304 needs neither the entity nor serialization
+        Optional<LocalDateTime> version = propertyService.getPropertyVersion(id);
+        if (version.isPresent()) {
+            String etag = PropertyETags.forProperty(id, version.get());
+            if (webRequest.checkNotModified(etag, PropertyETags.toEpochMilli(version.get()))) {
+                return null;
+            }
+        }
         PropertyDTO property = propertyService.getPropertyById(id);
         return ResponseEntity.ok(property);
     }
     
+    @GetMapping("/batch")
+    @Operation(summary = "Get several properties by ID in one call")
+    public ResponseEntity<List<PropertyDTO>> getPropertiesByIds(@RequestParam List<Long> ids) {
+        if (ids.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(propertyService.getPropertiesByIds(ids));
+    }
+    
     @PostMapping
     @Operation(summary = "Create a new property")
     public ResponseEntity<PropertyDTO> createProperty(@Valid @RequestBody Property property) {
@@ -81,12 +106,13 @@ public class PropertyController {
             @RequestParam(required = false) BigDecimal maxPrice,
             @RequestParam(required = false) Integer minRooms,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest) {
         
         Page<PropertyDTO> properties = propertyService.searchProperties(
                 city, type, transactionType, status, minPrice, maxPrice, minRooms,
                 PageRequest.of(page, size, Sort.by("createdAt").descending()));
-        return ResponseEntity.ok(properties);
+        return pageResponse(properties, webRequest);
     }
     
     @GetMapping("/agent/{agentId}")
@@ -131,5 +157,12 @@ public class PropertyController {
                 PageRequest.of(page, size, Sort.by("createdAt").descending()));
         return ResponseEntity.ok(properties);
     }
+    
+    // Listings still hit the database, but an unchanged page is answered with 304 before serialization
+    private ResponseEntity<Page<PropertyDTO>> pageResponse(Page<PropertyDTO> properties, WebRequest webRequest) {
+        if (webRequest.checkNotModified(PropertyETags.forPage(properties))) {
+            return null;
+        }
+        return ResponseEntity.ok(properties);
+    }
 }
-
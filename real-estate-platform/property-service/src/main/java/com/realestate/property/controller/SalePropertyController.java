@@ -2,13 +2,16 @@ package com.realestate.property.controller;
 
 import com.realestate.property.dto.SalePropertyDTO;
 import com.realestate.property.model.SaleProperty;
+import com.realestate.property.security.RequiresRole;
 import com.realestate.property.service.SalePropertyService;
 import com.realestate.property.util.RoleChecker;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -23,14 +26,17 @@ import java.util.Map;
 @Tag(name = "Sale Properties", description = "Property sale management APIs")
 public class SalePropertyController {
     
+    private static final int MAX_PAGE_SIZE = 100;
+    
     private final SalePropertyService salePropertyService;
-    private final RoleChecker roleChecker;
     
     @GetMapping
     @Operation(summary = "Get all properties for sale")
-    public ResponseEntity<List<SalePropertyDTO>> getAllForSale() {
-        List<SalePropertyDTO> sales = salePropertyService.getAllForSale();
-        return ResponseEntity.ok(sales);
+    public ResponseEntity<List<SalePropertyDTO>> getAllForSale(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        Page<SalePropertyDTO> sales = salePropertyService.getAllForSale(toPageable(page, size));
+        return toListResponse(sales);
     }
     
     @GetMapping("/{id}")
@@ -48,53 +54,45 @@ public class SalePropertyController {
     }
     
     @PostMapping
+    @RequiresRole({RoleChecker.Role.AGENT, RoleChecker.Role.ADMIN})
     @Operation(summary = "List a property for sale - AGENT/ADMIN only")
-    public ResponseEntity<SalePropertyDTO> createSaleProperty(
-            @Valid @RequestBody SaleProperty saleProperty,
-            HttpServletRequest request) {
-        roleChecker.checkAnyRole(request, RoleChecker.Role.AGENT, RoleChecker.Role.ADMIN);
+    public ResponseEntity<SalePropertyDTO> createSaleProperty(@Valid @RequestBody SaleProperty saleProperty) {
         SalePropertyDTO created = salePropertyService.createSaleProperty(saleProperty);
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
     
     @PutMapping("/{id}")
+    @RequiresRole({RoleChecker.Role.AGENT, RoleChecker.Role.ADMIN})
     @Operation(summary = "Update sale property - AGENT/ADMIN only")
     public ResponseEntity<SalePropertyDTO> updateSaleProperty(
             @PathVariable Long id,
-            @Valid @RequestBody SaleProperty saleProperty,
-            HttpServletRequest request) {
-        roleChecker.checkAnyRole(request, RoleChecker.Role.AGENT, RoleChecker.Role.ADMIN);
+            @Valid @RequestBody SaleProperty saleProperty) {
         SalePropertyDTO updated = salePropertyService.updateSaleProperty(id, saleProperty);
         return ResponseEntity.ok(updated);
     }
     
     @PutMapping("/{id}/reserve")
+    @RequiresRole({RoleChecker.Role.AGENT, RoleChecker.Role.ADMIN})
     @Operation(summary = "Reserve a property (offer accepted) - AGENT/ADMIN only")
-    public ResponseEntity<SalePropertyDTO> reserveSaleProperty(
-            @PathVariable Long id,
-            HttpServletRequest request) {
-        roleChecker.checkAnyRole(request, RoleChecker.Role.AGENT, RoleChecker.Role.ADMIN);
+    public ResponseEntity<SalePropertyDTO> reserveSaleProperty(@PathVariable Long id) {
         SalePropertyDTO reserved = salePropertyService.reserveSaleProperty(id);
         return ResponseEntity.ok(reserved);
     }
     
     @PutMapping("/{id}/sell")
+    @RequiresRole({RoleChecker.Role.AGENT, RoleChecker.Role.ADMIN})
     @Operation(summary = "Mark property as sold - AGENT/ADMIN only")
     public ResponseEntity<SalePropertyDTO> sellProperty(
             @PathVariable Long id,
-            @RequestParam(required = false) BigDecimal finalPrice,
-            HttpServletRequest request) {
-        roleChecker.checkAnyRole(request, RoleChecker.Role.AGENT, RoleChecker.Role.ADMIN);
+            @RequestParam(required = false) BigDecimal finalPrice) {
         SalePropertyDTO sold = salePropertyService.sellProperty(id, finalPrice);
         return ResponseEntity.ok(sold);
     }
     
     @DeleteMapping("/{id}")
+    @RequiresRole({RoleChecker.Role.AGENT, RoleChecker.Role.ADMIN})
     @Operation(summary = "Deactivate sale listing - AGENT/ADMIN only")
-    public ResponseEntity<Void> deactivateSaleProperty(
-            @PathVariable Long id,
-            HttpServletRequest request) {
-        roleChecker.checkAnyRole(request, RoleChecker.Role.AGENT, RoleChecker.Role.ADMIN);
+    public ResponseEntity<Void> deactivateSaleProperty(@PathVariable Long id) {
         salePropertyService.deactivateSaleProperty(id);
         return ResponseEntity.noContent().build();
     }
@@ -106,18 +104,32 @@ public class SalePropertyController {
             @RequestParam(required = false) String type,
             @RequestParam(required = false) BigDecimal minPrice,
             @RequestParam(required = false) BigDecimal maxPrice,
-            @RequestParam(required = false) Integer minRooms) {
+            @RequestParam(required = false) Integer minRooms,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
         
-        List<SalePropertyDTO> sales = salePropertyService.searchForSale(city, type, minPrice, maxPrice, minRooms);
-        return ResponseEntity.ok(sales);
+        Page<SalePropertyDTO> sales = salePropertyService.searchForSale(
+                city, type, minPrice, maxPrice, minRooms, toPageable(page, size));
+        return toListResponse(sales);
     }
     
     @GetMapping("/statistics")
+    @RequiresRole({RoleChecker.Role.AGENT, RoleChecker.Role.ADMIN})
     @Operation(summary = "Get sale statistics - AGENT/ADMIN only")
-    public ResponseEntity<Map<String, Object>> getStatistics(HttpServletRequest request) {
-        roleChecker.checkAnyRole(request, RoleChecker.Role.AGENT, RoleChecker.Role.ADMIN);
+    public ResponseEntity<Map<String, Object>> getStatistics() {
         Map<String, Object> stats = salePropertyService.getStatistics();
         return ResponseEntity.ok(stats);
     }
+    
+    // Toujours paginé : première page par défaut, taille bornée à MAX_PAGE_SIZE
+    private Pageable toPageable(int page, int size) {
+        return PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+    }
+    
+    // Le corps reste une liste (compatibilité frontend), le total est exposé dans X-Total-Count
+    private ResponseEntity<List<SalePropertyDTO>> toListResponse(Page<SalePropertyDTO> sales) {
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(sales.getTotalElements()))
+                .body(sales.getContent());
+    }
 }
-
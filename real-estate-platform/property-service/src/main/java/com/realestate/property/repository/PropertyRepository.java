@@ -15,6 +15,7 @@ import org.springframework.stereotype.Repository;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PropertyRepository extends JpaRepository<Property, Long>, JpaSpecificationExecutor<Property> {
@@ -37,6 +38,10 @@ public interface PropertyRepository extends JpaRepository<Property, Long>, JpaSp
     // Find by price range
     Page<Property> findByPriceBetween(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable);
     
+    // Version used for ETags, read without loading the entity
+    @Query("SELECT COALESCE(p.updatedAt, p.createdAt) FROM Property p WHERE p.id = :id")
+    Optional<LocalDateTime> findVersionById(@Param("id") Long id);
+    
     // Find recent properties
     List<Property> findByCreatedAtAfter(LocalDateTime date);
     
@@ -50,6 +55,12 @@ public interface PropertyRepository extends JpaRepository<Property, Long>, JpaSp
     @Query("SELECT AVG(p.price) FROM Property p WHERE p.status = :status")
     BigDecimal findAveragePrice(@Param("status") PropertyStatus status);
     
+    @Query("SELECT COALESCE(SUM(p.price), 0), COUNT(p.price) FROM Property p WHERE p.status = :status")
+    List<Object[]> sumAndCountPrices(@Param("status") PropertyStatus status);
+    
+    @Query("SELECT p.status, COUNT(p) FROM Property p GROUP BY p.status")
+    List<Object[]> countByStatus();
+    
     @Query("SELECT p.type, COUNT(p) FROM Property p GROUP BY p.type")
     List<Object[]> countByType();
     
@@ -1,7 +1,10 @@
 package com.realestate.property.repository;
 
+import com.realestate.property.model.Property.PropertyType;
 import com.realestate.property.model.SaleProperty;
 import com.realestate.property.model.SaleProperty.SaleStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -36,6 +39,41 @@ public interface SalePropertyRepository extends JpaRepository<SaleProperty, Long
         @Param("maxPrice") BigDecimal maxPrice
     );
     
+    // Biens actifs à vendre avec leur Property, en une seule requête (LEFT JOIN : la Property peut manquer)
+    @Query(value = "SELECT sp, p FROM SaleProperty sp LEFT JOIN Property p ON p.id = sp.propertyId " +
+                   "WHERE sp.isActive = true AND sp.saleStatus = :status " +
+                   "ORDER BY sp.id",
+           countQuery = "SELECT COUNT(sp) FROM SaleProperty sp " +
+                        "WHERE sp.isActive = true AND sp.saleStatus = :status")
+    Page<Object[]> findActiveWithProperty(@Param("status") SaleStatus status, Pageable pageable);
+    
+    // Recherche avec jointure sur Property : tous les filtres sont évalués en SQL
+    @Query(value = "SELECT sp, p FROM SaleProperty sp JOIN Property p ON p.id = sp.propertyId " +
+                   "WHERE sp.isActive = true " +
+                   "AND sp.saleStatus = 'FOR_SALE' " +
+                   "AND (:minPrice IS NULL OR sp.salePrice >= :minPrice) " +
+                   "AND (:maxPrice IS NULL OR sp.salePrice <= :maxPrice) " +
+                   "AND (:cityPattern IS NULL OR LOWER(p.city) LIKE :cityPattern) " +
+                   "AND (:type IS NULL OR p.type = :type) " +
+                   "AND (:minRooms IS NULL OR p.rooms >= :minRooms) " +
+                   "ORDER BY sp.id",
+           countQuery = "SELECT COUNT(sp) FROM SaleProperty sp JOIN Property p ON p.id = sp.propertyId " +
+                        "WHERE sp.isActive = true " +
+                        "AND sp.saleStatus = 'FOR_SALE' " +
+                        "AND (:minPrice IS NULL OR sp.salePrice >= :minPrice) " +
+                        "AND (:maxPrice IS NULL OR sp.salePrice <= :maxPrice) " +
+                        "AND (:cityPattern IS NULL OR LOWER(p.city) LIKE :cityPattern) " +
+                        "AND (:type IS NULL OR p.type = :type) " +
+                        "AND (:minRooms IS NULL OR p.rooms >= :minRooms)")
+    Page<Object[]> searchWithProperty(
+        @Param("cityPattern") String cityPattern,
+        @Param("type") PropertyType type,
+        @Param("minPrice") BigDecimal minPrice,
+        @Param("maxPrice") BigDecimal maxPrice,
+        @Param("minRooms") Integer minRooms,
+        Pageable pageable
+    );
+    
     // Compter par statut
     long countBySaleStatus(SaleStatus status);
     
@@ -0,0 +1,113 @@
+package com.realestate.property.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tells the services that cache property snapshots (rental-service, client-service) or
+ * responses (api-gateway) to drop a property after it has been created, updated or
+ * deleted.
+ * <p>
+ * Calls are made after commit on a single background thread, with connect and read
+ * timeouts so that one unreachable instance cannot hold up the others. Delivery is best
+ * effort: when the queue is full the notice is dropped, logged and counted
+ * (property.cache-invalidation.dropped), and the consumers' cache TTL bounds staleness.
+ */
+@Component
+@Slf4j
+public class PropertyCacheInvalidationNotifier {
+
+    private final DiscoveryClient discoveryClient;
+    private final RestClient restClient;
+    private final ThreadPoolExecutor executor;
+    private final Counter droppedNotices;
+
+    @Value("${property.cache-invalidation.targets:rental-service,client-service,api-gateway}")
+    private List<String> targetServices;
+
+    @Value("${internal.api-token:}")
+    private String internalApiToken;
+
+    public PropertyCacheInvalidationNotifier(
+            DiscoveryClient discoveryClient,
+            MeterRegistry meterRegistry,
+            @Value("${property.cache-invalidation.connect-timeout-ms:1000}") int connectTimeoutMs,
+            @Value("${property.cache-invalidation.read-timeout-ms:2000}") int readTimeoutMs) {
+        this.discoveryClient = discoveryClient;
+
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeoutMs);
+        requestFactory.setReadTimeout(readTimeoutMs);
+        this.restClient = RestClient.builder().requestFactory(requestFactory).build();
+
+        this.droppedNotices = meterRegistry.counter("property.cache-invalidation.dropped");
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1000),
+            runnable -> {
+                Thread thread = new Thread(runnable, "property-cache-invalidation");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public void propertyChanged(Long propertyId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(propertyId);
+                }
+            });
+        } else {
+            submit(propertyId);
+        }
+    }
+
+    private void submit(Long propertyId) {
+        try {
+            executor.execute(() -> notifyTargets(propertyId));
+        } catch (RejectedExecutionException e) {
+            droppedNotices.increment();
+            log.warn("Cache invalidation queue full, dropped notice for property {}", propertyId);
+        }
+    }
+
+    private void notifyTargets(Long propertyId) {
+        for (String serviceId : targetServices) {
+            for (ServiceInstance instance : discoveryClient.getInstances(serviceId)) {
+                try {
+                    restClient.delete()
+                        .uri(instance.getUri() + "/internal/cache/properties/{id}", propertyId)
+                        .header("X-Internal-Token", internalApiToken)
+                        .retrieve()
+                        .toBodilessEntity();
+                } catch (Exception e) {
+                    log.warn("Could not invalidate property {} on {} ({}): {}",
+                        propertyId, serviceId, instance.getUri(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
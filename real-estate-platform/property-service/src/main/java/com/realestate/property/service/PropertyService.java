@@ -13,8 +13,13 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -23,6 +28,8 @@ import java.util.Map;
 public class PropertyService {
     
     private final PropertyRepository propertyRepository;
+    private final PropertyCacheInvalidationNotifier cacheInvalidationNotifier;
+    private final PropertyStatisticsCounters statisticsCounters;
     
     public Page<PropertyDTO> getAllProperties(Pageable pageable) {
         return propertyRepository.findAll(pageable).map(PropertyDTO::fromEntity);
@@ -34,8 +41,27 @@ public class PropertyService {
         return PropertyDTO.fromEntity(property);
     }
     
+    /**
+     * updatedAt (or createdAt) of the property, empty when it does not exist or has no timestamp.
+     */
+    @Transactional(readOnly = true)
+    public Optional<LocalDateTime> getPropertyVersion(Long id) {
+        return propertyRepository.findVersionById(id);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<PropertyDTO> getPropertiesByIds(List<Long> ids) {
+        // Les IDs inconnus sont ignorés, l'appelant fait la correspondance par id
+        return propertyRepository.findAllById(new LinkedHashSet<>(ids)).stream()
+                .map(PropertyDTO::fromEntity)
+                .collect(Collectors.toList());
+    }
+    
     public PropertyDTO createProperty(Property property) {
         Property saved = propertyRepository.save(property);
+        statisticsCounters.propertyCreated(saved);
+        // New properties show up in cached listings at the gateway
+        cacheInvalidationNotifier.propertyChanged(saved.getId());
         log.info("Property created with id: {}", saved.getId());
         return PropertyDTO.fromEntity(saved);
     }
@@ -43,6 +69,7 @@ public class PropertyService {
     public PropertyDTO updateProperty(Long id, Property propertyDetails) {
         Property property = propertyRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Property not found with id: " + id));
+        PropertyStatisticsCounters.PropertySnapshot before = PropertyStatisticsCounters.snapshotOf(property);
         
         property.setTitle(propertyDetails.getTitle());
         property.setDescription(propertyDetails.getDescription());
@@ -69,12 +96,19 @@ public class PropertyService {
         property.setYearBuilt(propertyDetails.getYearBuilt());
         
         Property updated = propertyRepository.save(property);
+        statisticsCounters.propertyUpdated(before, updated);
+        cacheInvalidationNotifier.propertyChanged(updated.getId());
         log.info("Property updated with id: {}", updated.getId());
         return PropertyDTO.fromEntity(updated);
     }
     
     public void deleteProperty(Long id) {
+        // Chargée avant suppression pour décrémenter les compteurs (deleteById la charge de toute façon)
+        Optional<Property> existing = propertyRepository.findById(id);
         propertyRepository.deleteById(id);
+        existing.ifPresent(property ->
+            statisticsCounters.propertyDeleted(PropertyStatisticsCounters.snapshotOf(property)));
+        cacheInvalidationNotifier.propertyChanged(id);
         log.info("Property deleted with id: {}", id);
     }
     
@@ -120,7 +154,17 @@ public class PropertyService {
         return propertyRepository.findByAgentId(agentId, pageable).map(PropertyDTO::fromEntity);
     }
     
+    /**
+     * Served from the materialized counters when they are loaded, otherwise computed
+     * with the aggregate queries (statsSource tells which).
+     */
+    @Transactional(readOnly = true)
     public Map<String, Object> getStatistics() {
+        Map<String, Object> materialized = statisticsCounters.toStatistics();
+        if (materialized != null) {
+            return materialized;
+        }
+        
         Map<String, Object> stats = new HashMap<>();
         
         long total = propertyRepository.count();
@@ -150,6 +194,8 @@ public class PropertyService {
         stats.put("propertiesByType", byType);
         stats.put("propertiesByCity", byCity);
         stats.put("propertiesByTransactionType", byTransactionType);
+        stats.put("statsSource", "database");
+        stats.put("statsStale", false);
         
         return stats;
     }
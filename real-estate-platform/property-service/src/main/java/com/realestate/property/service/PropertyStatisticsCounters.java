@@ -0,0 +1,282 @@
+package com.realestate.property.service;
+
+import com.realestate.property.model.Property;
+import com.realestate.property.model.Property.PropertyStatus;
+import com.realestate.property.model.Property.PropertyType;
+import com.realestate.property.model.Property.TransactionType;
+import com.realestate.property.repository.PropertyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-memory property statistics, maintained incrementally from PropertyService writes
+ * (applied after commit) and reconciled periodically against the aggregate queries.
+ * Reads never touch the database once the counters are loaded.
+ *
+ * Writes that bypass PropertyService (SQL scripts, another instance) are only picked up
+ * by the next reconciliation; the staleness fields in the statistics say how old that is.
+ */
+@Component
+@Slf4j
+public class PropertyStatisticsCounters {
+    
+    private static final int RECONCILE_ATTEMPTS = 3;
+    
+    private final PropertyRepository propertyRepository;
+    
+    @Value("${property.statistics.materialized.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${property.statistics.reconcile-interval-ms:300000}")
+    private long reconcileIntervalMs;
+    
+    // Guarded by this
+    private Counts counts;
+    private long changeSequence;
+    private Instant reconciledAt;
+    private Instant updatedAt;
+    
+    public PropertyStatisticsCounters(PropertyRepository propertyRepository) {
+        this.propertyRepository = propertyRepository;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            log.info("Materialized property statistics disabled, statistics will query the database");
+            return;
+        }
+        reconcile();
+    }
+    
+    @Scheduled(initialDelayString = "${property.statistics.reconcile-interval-ms:300000}",
+               fixedDelayString = "${property.statistics.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        if (!enabled) {
+            return;
+        }
+        for (int attempt = 1; attempt <= RECONCILE_ATTEMPTS; attempt++) {
+            long sequenceBefore;
+            synchronized (this) {
+                sequenceBefore = changeSequence;
+            }
+            
+            Counts loaded = loadFromDatabase();
+            
+            synchronized (this) {
+                // A delta applied during the load may or may not be in it: retry instead of guessing
+                if (changeSequence != sequenceBefore) {
+                    continue;
+                }
+                if (counts != null && !counts.equals(loaded)) {
+                    log.warn("Property statistics drifted from the database (total {} -> {}), counters reset",
+                        counts.total, loaded.total);
+                }
+                counts = loaded;
+                reconciledAt = Instant.now();
+                updatedAt = reconciledAt;
+                return;
+            }
+        }
+        log.info("Property statistics reconciliation skipped: concurrent writes during {} attempts", RECONCILE_ATTEMPTS);
+    }
+    
+    /**
+     * Snapshot of the fields that statistics depend on, taken before a property is modified.
+     */
+    public static PropertySnapshot snapshotOf(Property property) {
+        return new PropertySnapshot(property.getStatus(), property.getTransactionType(),
+            property.getType(), property.getCity(), property.getPrice());
+    }
+    
+    public void propertyCreated(Property property) {
+        afterCommit(null, snapshotOf(property));
+    }
+    
+    public void propertyUpdated(PropertySnapshot before, Property property) {
+        afterCommit(before, snapshotOf(property));
+    }
+    
+    public void propertyDeleted(PropertySnapshot before) {
+        afterCommit(before, null);
+    }
+    
+    private void afterCommit(PropertySnapshot before, PropertySnapshot after) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyDelta(before, after);
+                }
+            });
+        } else {
+            applyDelta(before, after);
+        }
+    }
+    
+    private synchronized void applyDelta(PropertySnapshot before, PropertySnapshot after) {
+        changeSequence++;
+        if (counts == null) {
+            return;
+        }
+        if (before != null) {
+            counts.add(before, -1);
+        }
+        if (after != null) {
+            counts.add(after, 1);
+        }
+        updatedAt = Instant.now();
+    }
+    
+    /**
+     * Statistics in the PropertyService.getStatistics format plus freshness fields,
+     * or null when the counters are not loaded yet.
+     */
+    public synchronized Map<String, Object> toStatistics() {
+        if (counts == null) {
+            return null;
+        }
+        Map<String, Object> stats = counts.toStatistics();
+        long reconciledAgeMs = System.currentTimeMillis() - reconciledAt.toEpochMilli();
+        stats.put("statsSource", "materialized");
+        stats.put("statsReconciledAt", reconciledAt.toString());
+        stats.put("statsUpdatedAt", updatedAt.toString());
+        stats.put("statsReconciledAgeSeconds", reconciledAgeMs / 1000);
+        // Missing two reconciliations in a row means the scheduler is stuck or failing
+        stats.put("statsStale", reconciledAgeMs > 2 * reconcileIntervalMs);
+        return stats;
+    }
+    
+    private Counts loadFromDatabase() {
+        Counts loaded = new Counts();
+        loaded.total = propertyRepository.count();
+        propertyRepository.countByStatus().forEach(row ->
+            Counts.putCount(loaded.byStatus, (PropertyStatus) row[0], row[1]));
+        propertyRepository.countByTransactionType().forEach(row ->
+            Counts.putCount(loaded.byTransactionType, (TransactionType) row[0], row[1]));
+        propertyRepository.countByType().forEach(row ->
+            Counts.putCount(loaded.byType, (PropertyType) row[0], row[1]));
+        propertyRepository.countByCity().forEach(row ->
+            Counts.putCount(loaded.byCity, (String) row[0], row[1]));
+        
+        Object[] priceTotals = propertyRepository.sumAndCountPrices(PropertyStatus.AVAILABLE).get(0);
+        loaded.availablePriceSum = priceTotals[0] != null ? (BigDecimal) priceTotals[0] : BigDecimal.ZERO;
+        loaded.availablePriceCount = ((Number) priceTotals[1]).longValue();
+        loaded.removeZeroCounts();
+        return loaded;
+    }
+    
+    public record PropertySnapshot(PropertyStatus status, TransactionType transactionType,
+                                   PropertyType type, String city, BigDecimal price) {
+    }
+    
+    private static final class Counts {
+        
+        private long total;
+        private final Map<PropertyStatus, Long> byStatus = new EnumMap<>(PropertyStatus.class);
+        private final Map<TransactionType, Long> byTransactionType = new EnumMap<>(TransactionType.class);
+        private final Map<PropertyType, Long> byType = new EnumMap<>(PropertyType.class);
+        private final Map<String, Long> byCity = new HashMap<>();
+        
+        // AVG(price) of available properties, kept as SUM/COUNT so that it can be updated
+        private BigDecimal availablePriceSum = BigDecimal.ZERO;
+        private long availablePriceCount;
+        
+        private void add(PropertySnapshot property, int sign) {
+            total += sign;
+            increment(byStatus, property.status(), sign);
+            increment(byTransactionType, property.transactionType(), sign);
+            increment(byType, property.type(), sign);
+            increment(byCity, property.city(), sign);
+            if (property.status() == PropertyStatus.AVAILABLE && property.price() != null) {
+                BigDecimal price = property.price();
+                availablePriceSum = sign > 0 ? availablePriceSum.add(price) : availablePriceSum.subtract(price);
+                availablePriceCount += sign;
+            }
+        }
+        
+        // EnumMap rejects null keys: properties without a status/type are only counted in the total
+        private static <K> void putCount(Map<K, Long> map, K key, Object count) {
+            if (key != null || !(map instanceof EnumMap)) {
+                map.put(key, ((Number) count).longValue());
+            }
+        }
+        
+        private static <K> void increment(Map<K, Long> map, K key, int sign) {
+            if (key == null && map instanceof EnumMap) {
+                return;
+            }
+            long value = map.getOrDefault(key, 0L) + sign;
+            if (value <= 0) {
+                map.remove(key);
+            } else {
+                map.put(key, value);
+            }
+        }
+        
+        private void removeZeroCounts() {
+            byStatus.values().removeIf(count -> count <= 0);
+            byTransactionType.values().removeIf(count -> count <= 0);
+            byType.values().removeIf(count -> count <= 0);
+            byCity.values().removeIf(count -> count <= 0);
+        }
+        
+        private Map<String, Object> toStatistics() {
+            Map<String, Long> typeCounts = new HashMap<>();
+            byType.forEach((type, count) -> typeCounts.put(type.toString(), count));
+            Map<String, Long> transactionTypeCounts = new HashMap<>();
+            byTransactionType.forEach((type, count) -> transactionTypeCounts.put(type.toString(), count));
+            
+            BigDecimal averagePrice = availablePriceCount > 0
+                ? availablePriceSum.divide(BigDecimal.valueOf(availablePriceCount), 2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+            
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("totalProperties", total);
+            stats.put("availableProperties", byStatus.getOrDefault(PropertyStatus.AVAILABLE, 0L));
+            stats.put("propertiesForSale", byTransactionType.getOrDefault(TransactionType.SALE, 0L));
+            stats.put("propertiesForRent", byTransactionType.getOrDefault(TransactionType.RENTAL, 0L));
+            stats.put("averagePrice", averagePrice);
+            stats.put("propertiesByType", typeCounts);
+            stats.put("propertiesByCity", new HashMap<>(byCity));
+            stats.put("propertiesByTransactionType", transactionTypeCounts);
+            return stats;
+        }
+        
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Counts that)) {
+                return false;
+            }
+            return total == that.total
+                && availablePriceCount == that.availablePriceCount
+                && availablePriceSum.compareTo(that.availablePriceSum) == 0
+                && byStatus.equals(that.byStatus)
+                && byTransactionType.equals(that.byTransactionType)
+                && byType.equals(that.byType)
+                && byCity.equals(that.byCity);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Long.hashCode(total);
+        }
+    }
+}
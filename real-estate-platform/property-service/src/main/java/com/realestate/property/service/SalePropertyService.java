@@ -2,21 +2,22 @@ package com.realestate.property.service;
 
 import com.realestate.property.dto.SalePropertyDTO;
 import com.realestate.property.model.Property;
+import com.realestate.property.model.Property.PropertyType;
 import com.realestate.property.model.SaleProperty;
 import com.realestate.property.model.SaleProperty.SaleStatus;
 import com.realestate.property.repository.PropertyRepository;
 import com.realestate.property.repository.SalePropertyRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -140,43 +141,28 @@ public class SalePropertyService {
         return enrichWithPropertyDetails(SalePropertyDTO.fromEntity(saleProperty), property);
     }
     
-    public List<SalePropertyDTO> getAllForSale() {
-        List<SaleProperty> sales = salePropertyRepository.findByIsActiveTrueAndSaleStatus(SaleStatus.FOR_SALE);
-        return sales.stream()
-            .map(sp -> {
-                Property property = propertyRepository.findById(sp.getPropertyId()).orElse(null);
-                return enrichWithPropertyDetails(SalePropertyDTO.fromEntity(sp), property);
-            })
-            .collect(Collectors.toList());
+    public Page<SalePropertyDTO> getAllForSale(Pageable pageable) {
+        return salePropertyRepository.findActiveWithProperty(SaleStatus.FOR_SALE, pageable)
+            .map(this::toEnrichedDTO);
     }
     
-    public List<SalePropertyDTO> searchForSale(String city, String type, BigDecimal minPrice, BigDecimal maxPrice, Integer minRooms) {
+    public Page<SalePropertyDTO> searchForSale(String city, String type, BigDecimal minPrice, BigDecimal maxPrice,
+                                               Integer minRooms, Pageable pageable) {
         log.info("Searching properties for sale with filters");
         
-        // Rechercher les SaleProperties selon le prix
-        List<SaleProperty> saleProperties = salePropertyRepository.searchByPrice(minPrice, maxPrice);
-        
-        // Enrichir avec les détails de Property et filtrer
-        return saleProperties.stream()
-            .map(sp -> {
-                Property property = propertyRepository.findById(sp.getPropertyId()).orElse(null);
-                if (property == null) return null;
-                
-                // Filtrer par city, type, rooms
-                if (city != null && !city.isEmpty() && !property.getCity().toLowerCase().contains(city.toLowerCase())) {
-                    return null;
-                }
-                if (type != null && !type.isEmpty() && !property.getType().name().equals(type)) {
-                    return null;
-                }
-                if (minRooms != null && property.getRooms() < minRooms) {
-                    return null;
-                }
-                
-                return enrichWithPropertyDetails(SalePropertyDTO.fromEntity(sp), property);
-            })
-            .filter(dto -> dto != null)
-            .collect(Collectors.toList());
+        PropertyType propertyType = null;
+        if (type != null && !type.isEmpty()) {
+            try {
+                propertyType = PropertyType.valueOf(type);
+            } catch (IllegalArgumentException e) {
+                // Type inconnu : aucun bien ne peut correspondre
+                return Page.empty(pageable);
+            }
+        }
+        String cityPattern = city != null && !city.isEmpty() ? "%" + city.toLowerCase() + "%" : null;
+        
+        return salePropertyRepository.searchWithProperty(cityPattern, propertyType, minPrice, maxPrice, minRooms, pageable)
+            .map(this::toEnrichedDTO);
     }
     
     public Map<String, Object> getStatistics() {
@@ -197,6 +183,11 @@ public class SalePropertyService {
         return stats;
     }
     
+    // Ligne [SaleProperty, Property] issue des requêtes avec jointure
+    private SalePropertyDTO toEnrichedDTO(Object[] row) {
+        return enrichWithPropertyDetails(SalePropertyDTO.fromEntity((SaleProperty) row[0]), (Property) row[1]);
+    }
+    
     // Méthode pour enrichir le DTO avec les détails de la propriété
     private SalePropertyDTO enrichWithPropertyDetails(SalePropertyDTO dto, Property property) {
         if (property != null) {
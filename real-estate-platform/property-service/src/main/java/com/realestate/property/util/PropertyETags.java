@@ -0,0 +1,69 @@
+package com.realestate.property.util;
+
+import com.realestate.property.dto.PropertyDTO;
+import org.springframework.data.domain.Page;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+
+/**
+ * Strong ETags for property responses. A property's version is its updatedAt, or
+ * createdAt when it was never updated; both are set by the entity lifecycle callbacks,
+ * so any change made through JPA produces a new tag.
+ */
+public final class PropertyETags {
+    
+    private PropertyETags() {
+    }
+    
+    /**
+     * "p-42-1718000000000": property id and version in epoch millis.
+     */
+    public static String forProperty(Long id, LocalDateTime version) {
+        return "\"p-" + id + "-" + toEpochMilli(version) + "\"";
+    }
+    
+    /**
+     * Digest of the page metadata (number, size, total, sort) and of every
+     * (id, version) pair on the page, in order.
+     */
+    public static String forPage(Page<PropertyDTO> page) {
+        MessageDigest digest = sha256();
+        ByteBuffer header = ByteBuffer.allocate(3 * Long.BYTES);
+        header.putLong(page.getNumber()).putLong(page.getSize()).putLong(page.getTotalElements());
+        digest.update(header.array());
+        digest.update(page.getSort().toString().getBytes(StandardCharsets.UTF_8));
+        
+        ByteBuffer row = ByteBuffer.allocate(2 * Long.BYTES);
+        for (PropertyDTO property : page.getContent()) {
+            LocalDateTime version = versionOf(property.getUpdatedAt(), property.getCreatedAt());
+            row.clear();
+            row.putLong(property.getId() != null ? property.getId() : -1L)
+               .putLong(version != null ? toEpochMilli(version) : -1L);
+            digest.update(row.array());
+        }
+        return "\"l-" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+    }
+    
+    public static LocalDateTime versionOf(LocalDateTime updatedAt, LocalDateTime createdAt) {
+        return updatedAt != null ? updatedAt : createdAt;
+    }
+    
+    // Timestamps are written with LocalDateTime.now(), i.e. in the JVM zone
+    public static long toEpochMilli(LocalDateTime version) {
+        return version.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+    
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
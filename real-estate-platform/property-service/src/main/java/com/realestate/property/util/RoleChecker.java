@@ -1,9 +1,17 @@
 package com.realestate.property.util;
 
+import com.realestate.property.security.UserPrincipal;
+import com.realestate.property.tracing.TraceContext;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+/**
+ * Utility class to check user roles from HTTP request headers.
+ * The role is extracted from the X-User-Role header set by the API Gateway,
+ * parsed once per request into a UserPrincipal. Endpoints restricted to fixed
+ * roles use @RequiresRole instead.
+ */
 @Component
 @Slf4j
 public class RoleChecker {
@@ -12,39 +20,19 @@ public class RoleChecker {
         ADMIN, AGENT, CLIENT
     }
     
-    public String getRoleFromRequest(HttpServletRequest request) {
-        String role = request.getHeader("X-User-Role");
-        log.debug("Extracting role from request header X-User-Role: {}", role);
-        
-        if (role == null || role.isEmpty()) {
-            log.warn("X-User-Role header is missing or empty, defaulting to CLIENT");
-            return "CLIENT"; // Default to CLIENT if not present
-        }
-        
-        // Normalize role: remove ROLE_ prefix if present, then uppercase
-        String cleanRole = role.startsWith("ROLE_") ? role.substring(5) : role;
-        String normalizedRole = cleanRole.toUpperCase().trim();
-        log.debug("Normalized role (removed ROLE_ prefix): {}", normalizedRole);
-        return normalizedRole;
+    /**
+     * Role of the caller (CLIENT when the header is missing).
+     */
+    public Role getRoleFromRequest(HttpServletRequest request) {
+        return UserPrincipal.of(request).role();
     }
     
     public boolean hasRole(HttpServletRequest request, Role requiredRole) {
-        String userRole = getRoleFromRequest(request);
-        boolean hasRole = userRole.equals(requiredRole.name());
-        log.debug("Checking role: userRole={}, requiredRole={}, result={}", userRole, requiredRole.name(), hasRole);
-        return hasRole;
+        return UserPrincipal.of(request).role() == requiredRole;
     }
     
     public boolean hasAnyRole(HttpServletRequest request, Role... roles) {
-        String userRole = getRoleFromRequest(request);
-        for (Role role : roles) {
-            if (userRole.equals(role.name())) {
-                log.debug("User has role {} (one of required roles)", role.name());
-                return true;
-            }
-        }
-        log.debug("User role {} does not match any of the required roles", userRole);
-        return false;
+        return UserPrincipal.of(request).hasAnyRole(roles);
     }
     
     public boolean isAdmin(HttpServletRequest request) {
@@ -61,31 +49,24 @@ public class RoleChecker {
     
     public void checkRole(HttpServletRequest request, Role requiredRole) {
         if (!hasRole(request, requiredRole)) {
-            String userRole = getRoleFromRequest(request);
+            Role userRole = getRoleFromRequest(request);
             log.error("Access denied: User role {} does not match required role {}", userRole, requiredRole.name());
             throw new SecurityException("Access denied: Required role " + requiredRole.name() + ", but user has role " + userRole);
         }
     }
     
     public void checkAnyRole(HttpServletRequest request, Role... roles) {
-        String rawRole = request.getHeader("X-User-Role");
-        String normalizedRole = getRoleFromRequest(request);
-        String endpoint = request.getRequestURI();
-        String method = request.getMethod();
-        
-        log.info("=== PROPERTY-SERVICE RoleChecker.checkAnyRole ===");
-        log.info("Endpoint: {} {}", method, endpoint);
-        log.info("X-User-Role (raw): {}", rawRole);
-        log.info("X-User-Role (normalized): {}", normalizedRole);
-        log.info("Required roles: {}", java.util.Arrays.toString(roles));
-        
-        if (!hasAnyRole(request, roles)) {
-            log.error("=== PROPERTY-SERVICE ACCESS DENIED ===");
-            log.error("User role '{}' does not match any of the required roles {}", normalizedRole, java.util.Arrays.toString(roles));
-            throw new SecurityException("Access denied: Required one of roles " + java.util.Arrays.toString(roles) + ", but user has role " + normalizedRole);
+        UserPrincipal principal = UserPrincipal.of(request);
+        if (!principal.hasAnyRole(roles)) {
+            log.error("Access denied: {} {} requires one of {}, X-User-Role={} (normalized: {})",
+                    request.getMethod(), request.getRequestURI(), java.util.Arrays.toString(roles),
+                    request.getHeader("X-User-Role"), principal.roleName());
+            throw new SecurityException("Access denied: Required one of roles " + java.util.Arrays.toString(roles) + ", but user has role " + principal.roleName());
+        }
+        if (TraceContext.isSampled()) {
+            log.info("Access granted: {} {} requires one of {}, role={}",
+                    request.getMethod(), request.getRequestURI(), java.util.Arrays.toString(roles),
+                    principal.roleName());
         }
-        log.info("=== PROPERTY-SERVICE ACCESS GRANTED ===");
-        log.debug("Access granted: User role matches one of the required roles");
     }
 }
-
@@ -1,7 +1,11 @@
 package com.realestate.rental.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.realestate.rental.dto.BookingDTO;
+import com.realestate.rental.dto.BookingPageDTO;
 import com.realestate.rental.dto.BookingRequestDTO;
+import com.realestate.rental.security.RequiresRole;
+import com.realestate.rental.service.BookedDays;
 import com.realestate.rental.service.BookingService;
 import com.realestate.rental.util.RoleChecker;
 import io.swagger.v3.oas.annotations.Operation;
@@ -10,10 +14,16 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
@@ -27,12 +37,16 @@ public class BookingController {
     
     private final BookingService bookingService;
     private final RoleChecker roleChecker;
+    private final ObjectMapper objectMapper;
+    
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_BITSET_DAYS = 3660;
     
     @GetMapping
     @Operation(summary = "Get all bookings - CLIENT sees only own, AGENT/ADMIN see all")
     public ResponseEntity<List<BookingDTO>> getAllBookings(HttpServletRequest request) {
-        String role = roleChecker.getRoleFromRequest(request);
-        if (role.equals("CLIENT")) {
+        RoleChecker.Role role = roleChecker.getRoleFromRequest(request);
+        if (role == RoleChecker.Role.CLIENT) {
             String userEmail = roleChecker.getEmailFromRequest(request);
             List<BookingDTO> bookings = bookingService.getBookingsByGuestEmail(userEmail);
             return ResponseEntity.ok(bookings);
@@ -44,6 +58,58 @@ public class BookingController {
         }
     }
     
+    @GetMapping("/page")
+    @Operation(summary = "Get bookings page by page (cursor on startDate/id) - CLIENT sees only own")
+    public ResponseEntity<BookingPageDTO> getBookingsPage(
+            @RequestParam(defaultValue = "ALL") String scope,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            HttpServletRequest request) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        RoleChecker.Role role = roleChecker.getRoleFromRequest(request);
+        String guestEmail = null;
+        if (role == RoleChecker.Role.CLIENT) {
+            guestEmail = roleChecker.getEmailFromRequest(request);
+            // A null email would mean "no guest filter" to the service, i.e. every booking
+            if (guestEmail == null || guestEmail.isBlank()) {
+                throw new SecurityException("Access denied: no email for CLIENT caller");
+            }
+        } else {
+            roleChecker.checkAnyRole(request, RoleChecker.Role.AGENT, RoleChecker.Role.ADMIN);
+        }
+        
+        BookingPageDTO page = bookingService.getBookingsPage(scope, status, guestEmail, cursor, pageSize);
+        return ResponseEntity.ok(page);
+    }
+    
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    @RequiresRole({RoleChecker.Role.AGENT, RoleChecker.Role.ADMIN})
+    @Operation(summary = "Export bookings as NDJSON, one booking per line - AGENT/ADMIN only")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestParam(defaultValue = "ALL") String scope,
+            @RequestParam(required = false) String status) {
+        bookingService.validateFilter(scope, status);
+        
+        StreamingResponseBody body = outputStream -> {
+            BufferedOutputStream out = new BufferedOutputStream(outputStream);
+            bookingService.exportBookings(scope, status, booking -> {
+                try {
+                    out.write(objectMapper.writeValueAsBytes(booking));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.flush();
+        };
+        
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType("application/x-ndjson"))
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"bookings.ndjson\"")
+            .body(body);
+    }
+    
     @GetMapping("/{id}")
     @Operation(summary = "Get booking by ID - CLIENT sees only own")
     public ResponseEntity<BookingDTO> getBookingById(
@@ -52,8 +118,8 @@ public class BookingController {
         BookingDTO booking = bookingService.getBookingById(id);
         
         // CLIENT can only see their own bookings
-        String role = roleChecker.getRoleFromRequest(request);
-        if (role.equals("CLIENT")) {
+        RoleChecker.Role role = roleChecker.getRoleFromRequest(request);
+        if (role == RoleChecker.Role.CLIENT) {
             String userEmail = roleChecker.getEmailFromRequest(request);
             if (!booking.getGuestEmail().equals(userEmail)) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
@@ -69,8 +135,8 @@ public class BookingController {
             @Valid @RequestBody BookingRequestDTO request,
             HttpServletRequest httpRequest) {
         // Pour les clients, utiliser l'email du token JWT au lieu de l'email fourni dans la requête
-        String role = roleChecker.getRoleFromRequest(httpRequest);
-        if (role.equals("CLIENT")) {
+        RoleChecker.Role role = roleChecker.getRoleFromRequest(httpRequest);
+        if (role == RoleChecker.Role.CLIENT) {
             String userEmail = roleChecker.getEmailFromRequest(httpRequest);
             if (userEmail != null && !userEmail.isEmpty()) {
                 // Override l'email avec celui du token JWT pour garantir la cohérence
@@ -82,11 +148,9 @@ public class BookingController {
     }
     
     @PutMapping("/{id}/confirm")
+    @RequiresRole({RoleChecker.Role.AGENT, RoleChecker.Role.ADMIN})
     @Operation(summary = "Confirm a pending booking - AGENT/ADMIN only")
-    public ResponseEntity<BookingDTO> confirmBooking(
-            @PathVariable Long id,
-            HttpServletRequest request) {
-        roleChecker.checkAnyRole(request, RoleChecker.Role.AGENT, RoleChecker.Role.ADMIN);
+    public ResponseEntity<BookingDTO> confirmBooking(@PathVariable Long id) {
         BookingDTO confirmed = bookingService.confirmBooking(id);
         return ResponseEntity.ok(confirmed);
     }
@@ -96,10 +160,10 @@ public class BookingController {
     public ResponseEntity<BookingDTO> cancelBooking(
             @PathVariable Long id,
             HttpServletRequest request) {
-        String role = roleChecker.getRoleFromRequest(request);
+        RoleChecker.Role role = roleChecker.getRoleFromRequest(request);
         
         // CLIENT can only cancel their own bookings
-        if (role.equals("CLIENT")) {
+        if (role == RoleChecker.Role.CLIENT) {
             BookingDTO booking = bookingService.getBookingById(id);
             String userEmail = roleChecker.getEmailFromRequest(request);
             if (!booking.getGuestEmail().equals(userEmail)) {
@@ -115,21 +179,17 @@ public class BookingController {
     }
     
     @PutMapping("/{id}/complete")
+    @RequiresRole({RoleChecker.Role.AGENT, RoleChecker.Role.ADMIN})
     @Operation(summary = "Mark booking as completed - AGENT/ADMIN only")
-    public ResponseEntity<BookingDTO> completeBooking(
-            @PathVariable Long id,
-            HttpServletRequest request) {
-        roleChecker.checkAnyRole(request, RoleChecker.Role.AGENT, RoleChecker.Role.ADMIN);
+    public ResponseEntity<BookingDTO> completeBooking(@PathVariable Long id) {
         BookingDTO completed = bookingService.completeBooking(id);
         return ResponseEntity.ok(completed);
     }
     
     @GetMapping("/rental/{rentalId}")
+    @RequiresRole({RoleChecker.Role.AGENT, RoleChecker.Role.ADMIN})
     @Operation(summary = "Get bookings for a rental property - AGENT/ADMIN only")
-    public ResponseEntity<List<BookingDTO>> getBookingsByRentalProperty(
-            @PathVariable Long rentalId,
-            HttpServletRequest request) {
-        roleChecker.checkAnyRole(request, RoleChecker.Role.AGENT, RoleChecker.Role.ADMIN);
+    public ResponseEntity<List<BookingDTO>> getBookingsByRentalProperty(@PathVariable Long rentalId) {
         List<BookingDTO> bookings = bookingService.getBookingsByRentalProperty(rentalId);
         return ResponseEntity.ok(bookings);
     }
@@ -181,15 +241,40 @@ public class BookingController {
     }
     
     @GetMapping("/booked-dates/{propertyId}")
-    @Operation(summary = "Get all booked dates for a property (by propertyId)")
-    public ResponseEntity<Map<String, Object>> getBookedDates(@PathVariable Long propertyId) {
-        List<String> bookedDates = bookingService.getBookedDatesByPropertyId(propertyId);
+    @Operation(summary = "Get booked dates for a property (by propertyId) - format: dates, ranges or bitset")
+    public ResponseEntity<Map<String, Object>> getBookedDates(
+            @PathVariable Long propertyId,
+            @RequestParam(defaultValue = "dates") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
         
         Map<String, Object> response = new HashMap<>();
         response.put("propertyId", propertyId);
-        response.put("bookedDates", bookedDates);
+        response.put("format", format);
+        
+        switch (format.toLowerCase()) {
+            case "dates":
+                response.put("bookedDates", bookingService.getBookedDays(propertyId, from, to).toDateStrings());
+                break;
+            case "ranges":
+                response.put("ranges", bookingService.getBookedDays(propertyId, from, to).toRanges());
+                break;
+            case "bitset":
+                // Sans fenêtre, l'année en cours
+                LocalDate windowStart = from != null ? from : LocalDate.now().withDayOfYear(1);
+                LocalDate windowEnd = to != null ? to : windowStart.plusYears(1).minusDays(1);
+                if (windowEnd.isBefore(windowStart) || windowStart.plusDays(MAX_BITSET_DAYS).isBefore(windowEnd)) {
+                    return ResponseEntity.badRequest().build();
+                }
+                BookedDays bookedDays = bookingService.getBookedDays(propertyId, windowStart, windowEnd);
+                response.put("from", windowStart);
+                response.put("to", windowEnd);
+                response.put("bitset", bookedDays.toBase64Bitset(windowStart, windowEnd));
+                break;
+            default:
+                return ResponseEntity.badRequest().build();
+        }
         
         return ResponseEntity.ok(response);
     }
 }
-
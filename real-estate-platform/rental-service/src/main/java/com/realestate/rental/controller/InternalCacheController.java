@@ -0,0 +1,62 @@
+package com.realestate.rental.controller;
+
+import com.realestate.rental.cache.PropertySnapshotCache;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Invalidation hook called by property-service after a property is updated or deleted.
+ * Not routed by the API gateway; callers must send internal.api-token in the
+ * X-Internal-Token header, and every call is rejected (403) while it is not configured.
+ */
+@RestController
+@RequestMapping("/internal/cache")
+@RequiredArgsConstructor
+@Tag(name = "Internal", description = "Service-to-service maintenance APIs")
+public class InternalCacheController {
+
+    private final PropertySnapshotCache propertySnapshotCache;
+
+    @Value("${internal.api-token:}")
+    private String internalApiToken;
+
+    @DeleteMapping("/properties/{propertyId}")
+    @Operation(summary = "Evict a property snapshot from the local cache")
+    public ResponseEntity<Void> evictProperty(
+            @PathVariable Long propertyId,
+            @RequestHeader(value = "X-Internal-Token", required = false) String token) {
+        if (!isTokenValid(token)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        propertySnapshotCache.evict(propertyId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/properties")
+    @Operation(summary = "Clear the local property snapshot cache")
+    public ResponseEntity<Void> clearProperties(
+            @RequestHeader(value = "X-Internal-Token", required = false) String token) {
+        if (!isTokenValid(token)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        propertySnapshotCache.clear();
+        return ResponseEntity.noContent().build();
+    }
+
+    private boolean isTokenValid(String token) {
+        if (internalApiToken.isEmpty() || token == null) {
+            return false;
+        }
+        // Constant-time comparison
+        return MessageDigest.isEqual(internalApiToken.getBytes(StandardCharsets.UTF_8),
+                token.getBytes(StandardCharsets.UTF_8));
+    }
+}
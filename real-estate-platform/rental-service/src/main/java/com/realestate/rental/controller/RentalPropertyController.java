@@ -3,11 +3,11 @@ package com.realestate.rental.controller;
 import com.realestate.rental.dto.CalendarDTO;
 import com.realestate.rental.dto.RentalPropertyDTO;
 import com.realestate.rental.model.RentalProperty;
+import com.realestate.rental.security.RequiresRole;
 import com.realestate.rental.service.RentalPropertyService;
 import com.realestate.rental.util.RoleChecker;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -27,7 +27,8 @@ import java.util.Map;
 public class RentalPropertyController {
     
     private final RentalPropertyService rentalPropertyService;
-    private final RoleChecker roleChecker;
+    
+    private static final int MAX_CALENDAR_MONTHS = 24;
     
     @GetMapping
     @Operation(summary = "Get all active rental properties")
@@ -51,32 +52,27 @@ public class RentalPropertyController {
     }
     
     @PostMapping
+    @RequiresRole({RoleChecker.Role.AGENT, RoleChecker.Role.ADMIN})
     @Operation(summary = "Create/activate a property for rental - AGENT/ADMIN only")
-    public ResponseEntity<RentalPropertyDTO> createRentalProperty(
-            @Valid @RequestBody RentalProperty rentalProperty,
-            HttpServletRequest request) {
-        roleChecker.checkAnyRole(request, RoleChecker.Role.AGENT, RoleChecker.Role.ADMIN);
+    public ResponseEntity<RentalPropertyDTO> createRentalProperty(@Valid @RequestBody RentalProperty rentalProperty) {
         RentalPropertyDTO created = rentalPropertyService.createRentalProperty(rentalProperty);
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
     
     @PutMapping("/{id}")
+    @RequiresRole({RoleChecker.Role.AGENT, RoleChecker.Role.ADMIN})
     @Operation(summary = "Update rental property - AGENT/ADMIN only")
     public ResponseEntity<RentalPropertyDTO> updateRentalProperty(
             @PathVariable Long id,
-            @Valid @RequestBody RentalProperty rentalProperty,
-            HttpServletRequest request) {
-        roleChecker.checkAnyRole(request, RoleChecker.Role.AGENT, RoleChecker.Role.ADMIN);
+            @Valid @RequestBody RentalProperty rentalProperty) {
         RentalPropertyDTO updated = rentalPropertyService.updateRentalProperty(id, rentalProperty);
         return ResponseEntity.ok(updated);
     }
     
     @DeleteMapping("/{id}")
+    @RequiresRole({RoleChecker.Role.AGENT, RoleChecker.Role.ADMIN})
     @Operation(summary = "Deactivate rental property - AGENT/ADMIN only")
-    public ResponseEntity<Void> deactivateRentalProperty(
-            @PathVariable Long id,
-            HttpServletRequest request) {
-        roleChecker.checkAnyRole(request, RoleChecker.Role.AGENT, RoleChecker.Role.ADMIN);
+    public ResponseEntity<Void> deactivateRentalProperty(@PathVariable Long id) {
         rentalPropertyService.deactivateRentalProperty(id);
         return ResponseEntity.noContent().build();
     }
@@ -106,10 +102,25 @@ public class RentalPropertyController {
         return ResponseEntity.ok(calendar);
     }
     
+    @GetMapping("/{id}/availability/range")
+    @Operation(summary = "Get availability calendars for several consecutive months")
+    public ResponseEntity<List<CalendarDTO>> getAvailabilityCalendars(
+            @PathVariable Long id,
+            @RequestParam int year,
+            @RequestParam int month,
+            @RequestParam(defaultValue = "12") int months) {
+        
+        if (months < 1 || months > MAX_CALENDAR_MONTHS) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<CalendarDTO> calendars = rentalPropertyService.getAvailabilityCalendars(id, year, month, months);
+        return ResponseEntity.ok(calendars);
+    }
+    
     @GetMapping("/statistics")
+    @RequiresRole({RoleChecker.Role.AGENT, RoleChecker.Role.ADMIN})
     @Operation(summary = "Get rental statistics - AGENT/ADMIN only")
-    public ResponseEntity<Map<String, Object>> getStatistics(HttpServletRequest request) {
-        roleChecker.checkAnyRole(request, RoleChecker.Role.AGENT, RoleChecker.Role.ADMIN);
+    public ResponseEntity<Map<String, Object>> getStatistics() {
         Map<String, Object> stats = rentalPropertyService.getStatistics();
         return ResponseEntity.ok(stats);
     }
@@ -0,0 +1,18 @@
+package com.realestate.rental.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingPageDTO {
+    private List<BookingDTO> items;
+    
+    // Curseur opaque à renvoyer pour obtenir la page suivante (null sur la dernière page)
+    private String nextCursor;
+    private boolean hasMore;
+}
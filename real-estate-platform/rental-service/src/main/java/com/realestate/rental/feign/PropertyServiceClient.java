@@ -3,7 +3,9 @@ package com.realestate.rental.feign;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 
+import java.util.List;
 import java.util.Map;
 
 @FeignClient(name = "property-service")
@@ -11,5 +13,8 @@ public interface PropertyServiceClient {
     
     @GetMapping("/api/properties/{id}")
     Map<String, Object> getPropertyById(@PathVariable Long id);
+    
+    @GetMapping("/api/properties/batch")
+    List<Map<String, Object>> getPropertiesByIds(@RequestParam("ids") List<Long> ids);
 }
 
@@ -14,6 +14,7 @@ import java.time.LocalDateTime;
 @Table(name = "bookings", indexes = {
     @Index(name = "idx_rental_property", columnList = "rental_property_id"),
     @Index(name = "idx_dates", columnList = "start_date, end_date"),
+    @Index(name = "idx_start_date_id", columnList = "start_date, id"),
     @Index(name = "idx_status", columnList = "status"),
     @Index(name = "idx_guest_email", columnList = "guest_email")
 })
@@ -2,17 +2,30 @@ package com.realestate.rental.repository;
 
 import com.realestate.rental.model.Booking;
 import com.realestate.rental.model.Booking.BookingStatus;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
     
+    // Taille maximale de la clause IN pour la vérification de disponibilité
+    int OVERLAP_QUERY_CHUNK_SIZE = 1000;
+    
     // Trouver toutes les réservations d'un bien
     List<Booking> findByRentalPropertyId(Long rentalPropertyId);
     
@@ -25,6 +38,9 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     // Trouver les réservations par statut
     List<Booking> findByStatusOrderByStartDateAsc(BookingStatus status);
     
+    // Trouver les réservations ayant l'un des statuts donnés (chargement de l'index de disponibilité)
+    List<Booking> findByStatusIn(Collection<BookingStatus> statuses);
+    
     // Vérifier si des dates sont déjà réservées (chevauchement)
     @Query("SELECT COUNT(b) > 0 FROM Booking b WHERE b.rentalPropertyId = :rentalPropertyId " +
            "AND b.status = 'CONFIRMED' " +
@@ -37,6 +53,29 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
         @Param("endDate") LocalDate endDate
     );
     
+    // Même résultat pour un nombre quelconque de biens : une requête par lot de OVERLAP_QUERY_CHUNK_SIZE IDs
+    default Set<Long> findRentalPropertyIdsWithOverlappingBookingChunked(
+            List<Long> rentalPropertyIds, LocalDate startDate, LocalDate endDate) {
+        Set<Long> overlapping = new HashSet<>();
+        for (int from = 0; from < rentalPropertyIds.size(); from += OVERLAP_QUERY_CHUNK_SIZE) {
+            List<Long> chunk = rentalPropertyIds.subList(from, Math.min(from + OVERLAP_QUERY_CHUNK_SIZE, rentalPropertyIds.size()));
+            overlapping.addAll(findRentalPropertyIdsWithOverlappingBooking(chunk, startDate, endDate));
+        }
+        return overlapping;
+    }
+    
+    // Parmi les biens donnés, ceux qui ont une réservation confirmée chevauchant la période
+    @Query("SELECT DISTINCT b.rentalPropertyId FROM Booking b " +
+           "WHERE b.rentalPropertyId IN :rentalPropertyIds " +
+           "AND b.status = 'CONFIRMED' " +
+           "AND b.startDate <= :endDate " +
+           "AND b.endDate >= :startDate")
+    List<Long> findRentalPropertyIdsWithOverlappingBooking(
+        @Param("rentalPropertyIds") Collection<Long> rentalPropertyIds,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+    
     // Trouver les réservations confirmées pour un bien dans une période
     @Query("SELECT b FROM Booking b WHERE b.rentalPropertyId = :rentalPropertyId " +
            "AND b.status = 'CONFIRMED' " +
@@ -49,6 +88,76 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
         @Param("endDate") LocalDate endDate
     );
     
+    // Pagination par curseur (startDate, id) : première page, lue dans l'ordre de idx_start_date_id
+    @Query("SELECT b FROM Booking b " +
+           "WHERE (:status IS NULL OR b.status = :status) " +
+           "AND (:guestEmail IS NULL OR b.guestEmail = :guestEmail) " +
+           "AND (:startFrom IS NULL OR b.startDate >= :startFrom) " +
+           "AND (:startTo IS NULL OR b.startDate <= :startTo) " +
+           "AND (:endFrom IS NULL OR b.endDate >= :endFrom) " +
+           "ORDER BY b.startDate, b.id")
+    List<Booking> findFirstPage(
+        @Param("status") BookingStatus status,
+        @Param("guestEmail") String guestEmail,
+        @Param("startFrom") LocalDate startFrom,
+        @Param("startTo") LocalDate startTo,
+        @Param("endFrom") LocalDate endFrom,
+        Pageable pageable
+    );
+    
+    // Pages suivantes : plage sur idx_start_date_id à partir de la dernière ligne lue
+    // (b.startDate >= :afterStartDate donne la borne de la plage, le OR départage les égalités)
+    @Query("SELECT b FROM Booking b " +
+           "WHERE b.startDate >= :afterStartDate " +
+           "AND (b.startDate > :afterStartDate OR b.id > :afterId) " +
+           "AND (:status IS NULL OR b.status = :status) " +
+           "AND (:guestEmail IS NULL OR b.guestEmail = :guestEmail) " +
+           "AND (:startFrom IS NULL OR b.startDate >= :startFrom) " +
+           "AND (:startTo IS NULL OR b.startDate <= :startTo) " +
+           "AND (:endFrom IS NULL OR b.endDate >= :endFrom) " +
+           "ORDER BY b.startDate, b.id")
+    List<Booking> findPageAfter(
+        @Param("status") BookingStatus status,
+        @Param("guestEmail") String guestEmail,
+        @Param("startFrom") LocalDate startFrom,
+        @Param("startTo") LocalDate startTo,
+        @Param("endFrom") LocalDate endFrom,
+        @Param("afterStartDate") LocalDate afterStartDate,
+        @Param("afterId") Long afterId,
+        Pageable pageable
+    );
+    
+    // Export en flux : les lignes sont lues par lots au lieu d'être chargées en une fois
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b FROM Booking b " +
+           "WHERE (:status IS NULL OR b.status = :status) " +
+           "AND (:guestEmail IS NULL OR b.guestEmail = :guestEmail) " +
+           "AND (:startFrom IS NULL OR b.startDate >= :startFrom) " +
+           "AND (:startTo IS NULL OR b.startDate <= :startTo) " +
+           "AND (:endFrom IS NULL OR b.endDate >= :endFrom) " +
+           "ORDER BY b.startDate, b.id")
+    Stream<Booking> streamFiltered(
+        @Param("status") BookingStatus status,
+        @Param("guestEmail") String guestEmail,
+        @Param("startFrom") LocalDate startFrom,
+        @Param("startTo") LocalDate startTo,
+        @Param("endFrom") LocalDate endFrom
+    );
+    
+    // Périodes PENDING/CONFIRMED d'un bien qui touchent la fenêtre (bornes optionnelles)
+    @Query("SELECT b.startDate, b.endDate FROM Booking b WHERE b.rentalPropertyId = :rentalPropertyId " +
+           "AND b.status IN ('PENDING', 'CONFIRMED') " +
+           "AND (:from IS NULL OR b.endDate >= :from) " +
+           "AND (:to IS NULL OR b.startDate <= :to)")
+    List<Object[]> findActivePeriods(
+        @Param("rentalPropertyId") Long rentalPropertyId,
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to
+    );
+    
     // Statistiques - Compter les réservations par statut
     long countByStatus(BookingStatus status);
     
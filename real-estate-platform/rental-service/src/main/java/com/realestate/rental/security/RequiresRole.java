@@ -0,0 +1,22 @@
+package com.realestate.rental.security;
+
+import com.realestate.rental.util.RoleChecker;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Restricts a controller method (or every method of a controller) to the given roles.
+ * Checked by RequiresRoleInterceptor before the handler runs; a caller without one of
+ * the roles gets a SecurityException (403). A method annotation overrides the class one.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface RequiresRole {
+
+    RoleChecker.Role[] value();
+}
@@ -0,0 +1,66 @@
+package com.realestate.rental.security;
+
+import com.realestate.rental.tracing.TraceContext;
+import com.realestate.rental.util.RoleChecker;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Enforces {@link RequiresRole}. The required roles of each handler method are resolved
+ * once and cached, so a request costs one EnumSet lookup against the parsed principal.
+ */
+@Component
+@Slf4j
+public class RequiresRoleInterceptor implements HandlerInterceptor {
+
+    // Empty set: the handler has no @RequiresRole
+    private final Map<Method, Set<RoleChecker.Role>> requiredRoles = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        Set<RoleChecker.Role> required = requiredRoles.computeIfAbsent(handlerMethod.getMethod(),
+                method -> resolve(handlerMethod));
+        if (required.isEmpty()) {
+            return true;
+        }
+
+        UserPrincipal principal = UserPrincipal.of(request);
+        if (!required.contains(principal.role())) {
+            log.error("Access denied: {} {} requires one of {}, X-User-Role={} (normalized: {})",
+                    request.getMethod(), request.getRequestURI(), required,
+                    request.getHeader("X-User-Role"), principal.roleName());
+            throw new SecurityException("Access denied: Required one of roles " + required + ", but user has role " + principal.roleName());
+        }
+        if (TraceContext.isSampled()) {
+            log.info("Access granted: {} {} requires one of {}, role={}",
+                    request.getMethod(), request.getRequestURI(), required, principal.roleName());
+        }
+        return true;
+    }
+
+    private static Set<RoleChecker.Role> resolve(HandlerMethod handlerMethod) {
+        RequiresRole annotation = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getMethod(), RequiresRole.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), RequiresRole.class);
+        }
+        if (annotation == null || annotation.value().length == 0) {
+            return EnumSet.noneOf(RoleChecker.Role.class);
+        }
+        return EnumSet.copyOf(Arrays.asList(annotation.value()));
+    }
+}
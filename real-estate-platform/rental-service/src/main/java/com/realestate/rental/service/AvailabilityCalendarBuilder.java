@@ -0,0 +1,96 @@
+package com.realestate.rental.service;
+
+import com.realestate.rental.dto.CalendarDTO;
+import com.realestate.rental.model.Booking;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds consecutive monthly calendars from one list of bookings. Each month is a
+ * 31-slot int array holding (booking index + 1) per day, filled with a bounded loop per
+ * booking and month; a single BookingInfo is created per booking and shared by its days.
+ */
+final class AvailabilityCalendarBuilder {
+
+    private final Long rentalPropertyId;
+    private final YearMonth firstMonth;
+    private final int[][] slots;
+
+    private AvailabilityCalendarBuilder(Long rentalPropertyId, YearMonth firstMonth, int months) {
+        this.rentalPropertyId = rentalPropertyId;
+        this.firstMonth = firstMonth;
+        this.slots = new int[months][31];
+    }
+
+    static List<CalendarDTO> build(Long rentalPropertyId, YearMonth firstMonth, int months, List<Booking> bookings) {
+        AvailabilityCalendarBuilder builder = new AvailabilityCalendarBuilder(rentalPropertyId, firstMonth, months);
+        for (int i = 0; i < bookings.size(); i++) {
+            builder.mark(bookings.get(i), i + 1);
+        }
+        return builder.toCalendars(bookings);
+    }
+
+    private void mark(Booking booking, int slotValue) {
+        LocalDate windowStart = firstMonth.atDay(1);
+        LocalDate windowEnd = firstMonth.plusMonths(slots.length - 1).atEndOfMonth();
+        LocalDate start = booking.getStartDate().isBefore(windowStart) ? windowStart : booking.getStartDate();
+        LocalDate end = booking.getEndDate().isAfter(windowEnd) ? windowEnd : booking.getEndDate();
+        if (start.isAfter(end)) {
+            return;
+        }
+
+        int month = monthIndex(start);
+        int lastMonth = monthIndex(end);
+        for (; month <= lastMonth; month++) {
+            int fromDay = month == monthIndex(start) ? start.getDayOfMonth() : 1;
+            int toDay = month == lastMonth ? end.getDayOfMonth() : firstMonth.plusMonths(month).lengthOfMonth();
+            for (int day = fromDay; day <= toDay; day++) {
+                slots[month][day - 1] = slotValue;
+            }
+        }
+    }
+
+    private int monthIndex(LocalDate date) {
+        return (date.getYear() - firstMonth.getYear()) * 12 + date.getMonthValue() - firstMonth.getMonthValue();
+    }
+
+    private List<CalendarDTO> toCalendars(List<Booking> bookings) {
+        CalendarDTO.BookingInfo[] infos = new CalendarDTO.BookingInfo[bookings.size()];
+        List<CalendarDTO> calendars = new ArrayList<>(slots.length);
+
+        for (int month = 0; month < slots.length; month++) {
+            YearMonth yearMonth = firstMonth.plusMonths(month);
+            List<LocalDate> blockedDates = new ArrayList<>();
+            Map<LocalDate, CalendarDTO.BookingInfo> bookingInfoMap = new HashMap<>();
+
+            int[] days = slots[month];
+            for (int day = 1; day <= yearMonth.lengthOfMonth(); day++) {
+                int slot = days[day - 1];
+                if (slot == 0) {
+                    continue;
+                }
+                int index = slot - 1;
+                if (infos[index] == null) {
+                    Booking booking = bookings.get(index);
+                    infos[index] = new CalendarDTO.BookingInfo(
+                        booking.getId(),
+                        booking.getGuestName(),
+                        booking.getStartDate(),
+                        booking.getEndDate());
+                }
+                LocalDate date = yearMonth.atDay(day);
+                blockedDates.add(date);
+                bookingInfoMap.put(date, infos[index]);
+            }
+
+            calendars.add(new CalendarDTO(
+                rentalPropertyId, yearMonth.getYear(), yearMonth.getMonthValue(), blockedDates, bookingInfoMap));
+        }
+        return calendars;
+    }
+}
@@ -0,0 +1,134 @@
+package com.realestate.rental.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Booked days of one rental as merged, sorted epoch-day ranges (both ends inclusive).
+ * Intervals are clipped to an optional window, then packed into a long[] and merged,
+ * so no object is allocated per booked day.
+ */
+public final class BookedDays {
+
+    private final int[] starts;
+    private final int[] ends;
+
+    private BookedDays(int[] starts, int[] ends) {
+        this.starts = starts;
+        this.ends = ends;
+    }
+
+    public static Builder builder(LocalDate from, LocalDate to) {
+        return new Builder(
+            from != null ? (int) from.toEpochDay() : Integer.MIN_VALUE,
+            to != null ? (int) to.toEpochDay() : Integer.MAX_VALUE);
+    }
+
+    public int rangeCount() {
+        return starts.length;
+    }
+
+    /**
+     * [{"start": "2025-07-01", "end": "2025-07-14"}, ...]
+     */
+    public List<Map<String, String>> toRanges() {
+        List<Map<String, String>> ranges = new ArrayList<>(starts.length);
+        for (int i = 0; i < starts.length; i++) {
+            Map<String, String> range = new LinkedHashMap<>();
+            range.put("start", LocalDate.ofEpochDay(starts[i]).toString());
+            range.put("end", LocalDate.ofEpochDay(ends[i]).toString());
+            ranges.add(range);
+        }
+        return ranges;
+    }
+
+    /**
+     * One bit per day of [from, to], bit i set when from + i is booked. Bytes are
+     * little-endian (bit i lives in byte i / 8, position i % 8) and base64 encoded.
+     */
+    public String toBase64Bitset(LocalDate from, LocalDate to) {
+        int first = (int) from.toEpochDay();
+        int last = (int) to.toEpochDay();
+        BitSet bits = new BitSet(last - first + 1);
+        for (int i = 0; i < starts.length; i++) {
+            int start = Math.max(starts[i], first);
+            int end = Math.min(ends[i], last);
+            if (start <= end) {
+                bits.set(start - first, end - first + 1);
+            }
+        }
+        // toByteArray drops trailing zero bytes, pad to the full window
+        byte[] bytes = Arrays.copyOf(bits.toByteArray(), (last - first) / 8 + 1);
+        return Base64.getEncoder().encodeToString(bytes);
+    }
+
+    /**
+     * Legacy format: one "YYYY-MM-DD" string per booked day, sorted and distinct.
+     */
+    public List<String> toDateStrings() {
+        List<String> dates = new ArrayList<>();
+        for (int i = 0; i < starts.length; i++) {
+            for (int day = starts[i]; day <= ends[i]; day++) {
+                dates.add(LocalDate.ofEpochDay(day).toString());
+            }
+        }
+        return dates;
+    }
+
+    public static final class Builder {
+
+        private final int windowStart;
+        private final int windowEnd;
+        private long[] packed = new long[16];
+        private int size;
+
+        private Builder(int windowStart, int windowEnd) {
+            this.windowStart = windowStart;
+            this.windowEnd = windowEnd;
+        }
+
+        public Builder add(int startDay, int endDay) {
+            int start = Math.max(startDay, windowStart);
+            int end = Math.min(endDay, windowEnd);
+            if (start > end) {
+                return this;
+            }
+            if (size == packed.length) {
+                packed = Arrays.copyOf(packed, size * 2);
+            }
+            // Start in the high half so that sorting the longs sorts by start day
+            packed[size++] = ((long) start << 32) | (end & 0xFFFFFFFFL);
+            return this;
+        }
+
+        public Builder add(LocalDate startDate, LocalDate endDate) {
+            return add((int) startDate.toEpochDay(), (int) endDate.toEpochDay());
+        }
+
+        public BookedDays build() {
+            Arrays.sort(packed, 0, size);
+            int[] starts = new int[size];
+            int[] ends = new int[size];
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                int start = (int) (packed[i] >> 32);
+                int end = (int) packed[i];
+                // Ranges that overlap or touch are merged
+                if (count > 0 && start <= ends[count - 1] + 1) {
+                    ends[count - 1] = Math.max(ends[count - 1], end);
+                } else {
+                    starts[count] = start;
+                    ends[count] = end;
+                    count++;
+                }
+            }
+            return new BookedDays(Arrays.copyOf(starts, count), Arrays.copyOf(ends, count));
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package com.realestate.rental.service;
+
+import com.realestate.rental.model.Booking;
+import com.realestate.rental.model.Booking.BookingStatus;
+import com.realestate.rental.repository.BookingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of PENDING and CONFIRMED bookings, keyed by rental property.
+ * Each rental holds an immutable array of epoch-day ranges sorted by start date,
+ * so overlap checks are a binary search instead of a database round trip.
+ * The index is warmed from the bookings table at startup and kept up to date
+ * by BookingService after each committed status change.
+ *
+ * The index only sees the bookings written by this instance, so it is off by default
+ * (rental.availability-index.enabled) and must stay off when several rental-service
+ * instances share the database. If warm-up fails, or more than max-backlog changes
+ * arrive while it runs, the index is abandoned and checks go to the database.
+ */
+@Component
+@Slf4j
+public class BookingAvailabilityIndex {
+
+    private final BookingRepository bookingRepository;
+    private final int maxBacklog;
+    // Cleared when the index is disabled or abandoned: nothing is recorded any more
+    private volatile boolean active;
+
+    private final Map<Long, RentalIntervals> intervalsByRental = new ConcurrentHashMap<>();
+
+    // Changes committed while the index is warming up, replayed once it is loaded
+    private final List<BookingSnapshot> backlog = new ArrayList<>();
+    private final Object lock = new Object();
+    private volatile boolean ready;
+
+    public BookingAvailabilityIndex(
+            BookingRepository bookingRepository,
+            @Value("${rental.availability-index.enabled:false}") boolean enabled,
+            @Value("${rental.availability-index.max-backlog:10000}") int maxBacklog) {
+        this.bookingRepository = bookingRepository;
+        this.active = enabled;
+        this.maxBacklog = maxBacklog;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!active) {
+            log.info("Booking availability index disabled, availability checks will query the database");
+            return;
+        }
+
+        long started = System.currentTimeMillis();
+        List<Booking> bookings;
+        try {
+            bookings = bookingRepository.findByStatusIn(List.of(BookingStatus.PENDING, BookingStatus.CONFIRMED));
+        } catch (RuntimeException e) {
+            log.error("Booking availability index warm-up failed, availability checks will query the database", e);
+            synchronized (lock) {
+                abandon();
+            }
+            return;
+        }
+
+        Map<Long, List<BookingSnapshot>> grouped = new HashMap<>();
+        for (Booking booking : bookings) {
+            grouped.computeIfAbsent(booking.getRentalPropertyId(), k -> new ArrayList<>())
+                .add(BookingSnapshot.of(booking));
+        }
+
+        synchronized (lock) {
+            if (!active) {
+                return;
+            }
+            grouped.forEach((rentalId, snapshots) ->
+                intervalsByRental.put(rentalId, RentalIntervals.build(snapshots)));
+            backlog.forEach(this::apply);
+            backlog.clear();
+            ready = true;
+        }
+
+        log.info("Booking availability index warmed with {} bookings for {} rentals in {} ms",
+            bookings.size(), grouped.size(), System.currentTimeMillis() - started);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Same semantics as BookingRepository.existsOverlappingBooking: true when a CONFIRMED
+     * booking of the rental intersects [startDate, endDate], both ends inclusive.
+     */
+    public boolean hasConfirmedOverlap(Long rentalPropertyId, LocalDate startDate, LocalDate endDate) {
+        RentalIntervals intervals = intervalsByRental.get(rentalPropertyId);
+        return intervals != null
+            && intervals.hasConfirmedOverlap((int) startDate.toEpochDay(), (int) endDate.toEpochDay());
+    }
+
+    /**
+     * Passes every PENDING or CONFIRMED interval of the rental, as epoch days, to the consumer.
+     */
+    public void forEachActiveInterval(Long rentalPropertyId, IntervalConsumer consumer) {
+        RentalIntervals intervals = intervalsByRental.get(rentalPropertyId);
+        if (intervals != null) {
+            for (int i = 0; i < intervals.startDays.length; i++) {
+                consumer.accept(intervals.startDays[i], intervals.endDays[i]);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface IntervalConsumer {
+        void accept(int startDay, int endDay);
+    }
+
+    /**
+     * Records the booking's current state once the surrounding transaction commits,
+     * so a rolled back change never reaches the index.
+     */
+    public void recordAfterCommit(Booking booking) {
+        if (!active) {
+            return;
+        }
+
+        BookingSnapshot snapshot = BookingSnapshot.of(booking);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record(snapshot);
+                }
+            });
+        } else {
+            record(snapshot);
+        }
+    }
+
+    private void record(BookingSnapshot snapshot) {
+        if (!ready) {
+            synchronized (lock) {
+                if (!ready) {
+                    if (!active) {
+                        return;
+                    }
+                    if (backlog.size() >= maxBacklog) {
+                        log.error("Booking availability index backlog exceeded {} changes during warm-up, "
+                            + "availability checks will query the database", maxBacklog);
+                        abandon();
+                        return;
+                    }
+                    backlog.add(snapshot);
+                    return;
+                }
+            }
+        }
+        apply(snapshot);
+    }
+
+    // Caller holds lock; the index never becomes ready afterwards
+    private void abandon() {
+        active = false;
+        backlog.clear();
+        intervalsByRental.clear();
+    }
+
+    private void apply(BookingSnapshot snapshot) {
+        intervalsByRental.compute(snapshot.rentalPropertyId(), (rentalId, current) -> {
+            RentalIntervals base = current != null ? current : RentalIntervals.EMPTY;
+            RentalIntervals updated = snapshot.isActive() ? base.upsert(snapshot) : base.remove(snapshot.bookingId());
+            return updated.isEmpty() ? null : updated;
+        });
+    }
+
+    record BookingSnapshot(long bookingId, Long rentalPropertyId, int startDay, int endDay, BookingStatus status) {
+
+        static BookingSnapshot of(Booking booking) {
+            return new BookingSnapshot(
+                booking.getId(),
+                booking.getRentalPropertyId(),
+                (int) booking.getStartDate().toEpochDay(),
+                (int) booking.getEndDate().toEpochDay(),
+                booking.getStatus());
+        }
+
+        boolean isActive() {
+            return status == BookingStatus.PENDING || status == BookingStatus.CONFIRMED;
+        }
+    }
+
+    /**
+     * Immutable, start-sorted intervals of one rental. confirmedMaxEnd[i] holds the
+     * greatest end day among CONFIRMED entries 0..i, which turns an overlap check
+     * into one binary search.
+     */
+    static final class RentalIntervals {
+
+        static final RentalIntervals EMPTY = new RentalIntervals(new long[0], new int[0], new int[0], new boolean[0]);
+
+        private final long[] bookingIds;
+        private final int[] startDays;
+        private final int[] endDays;
+        private final boolean[] confirmed;
+        private final int[] confirmedMaxEnd;
+
+        private RentalIntervals(long[] bookingIds, int[] startDays, int[] endDays, boolean[] confirmed) {
+            this.bookingIds = bookingIds;
+            this.startDays = startDays;
+            this.endDays = endDays;
+            this.confirmed = confirmed;
+            this.confirmedMaxEnd = new int[bookingIds.length];
+            int maxEnd = Integer.MIN_VALUE;
+            for (int i = 0; i < bookingIds.length; i++) {
+                if (confirmed[i] && endDays[i] > maxEnd) {
+                    maxEnd = endDays[i];
+                }
+                confirmedMaxEnd[i] = maxEnd;
+            }
+        }
+
+        static RentalIntervals build(List<BookingSnapshot> snapshots) {
+            BookingSnapshot[] sorted = snapshots.toArray(new BookingSnapshot[0]);
+            Arrays.sort(sorted, (a, b) -> Integer.compare(a.startDay(), b.startDay()));
+
+            int n = sorted.length;
+            long[] ids = new long[n];
+            int[] starts = new int[n];
+            int[] ends = new int[n];
+            boolean[] confirmed = new boolean[n];
+            for (int i = 0; i < n; i++) {
+                ids[i] = sorted[i].bookingId();
+                starts[i] = sorted[i].startDay();
+                ends[i] = sorted[i].endDay();
+                confirmed[i] = sorted[i].status() == BookingStatus.CONFIRMED;
+            }
+            return new RentalIntervals(ids, starts, ends, confirmed);
+        }
+
+        boolean isEmpty() {
+            return bookingIds.length == 0;
+        }
+
+        boolean hasConfirmedOverlap(int startDay, int endDay) {
+            // Last entry starting on or before endDay
+            int low = 0;
+            int high = startDays.length - 1;
+            int last = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (startDays[mid] <= endDay) {
+                    last = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return last >= 0 && confirmedMaxEnd[last] >= startDay;
+        }
+
+        RentalIntervals upsert(BookingSnapshot snapshot) {
+            RentalIntervals without = remove(snapshot.bookingId());
+            int n = without.bookingIds.length;
+
+            int insertAt = 0;
+            while (insertAt < n && without.startDays[insertAt] <= snapshot.startDay()) {
+                insertAt++;
+            }
+
+            long[] ids = new long[n + 1];
+            int[] starts = new int[n + 1];
+            int[] ends = new int[n + 1];
+            boolean[] confirmed = new boolean[n + 1];
+            copyWithGap(without, ids, starts, ends, confirmed, insertAt);
+            ids[insertAt] = snapshot.bookingId();
+            starts[insertAt] = snapshot.startDay();
+            ends[insertAt] = snapshot.endDay();
+            confirmed[insertAt] = snapshot.status() == BookingStatus.CONFIRMED;
+            return new RentalIntervals(ids, starts, ends, confirmed);
+        }
+
+        RentalIntervals remove(long bookingId) {
+            int index = -1;
+            for (int i = 0; i < bookingIds.length; i++) {
+                if (bookingIds[i] == bookingId) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                return this;
+            }
+
+            int n = bookingIds.length - 1;
+            long[] ids = new long[n];
+            int[] starts = new int[n];
+            int[] ends = new int[n];
+            boolean[] confirmed = new boolean[n];
+            for (int i = 0, j = 0; i < bookingIds.length; i++) {
+                if (i == index) {
+                    continue;
+                }
+                ids[j] = bookingIds[i];
+                starts[j] = startDays[i];
+                ends[j] = endDays[i];
+                confirmed[j] = this.confirmed[i];
+                j++;
+            }
+            return new RentalIntervals(ids, starts, ends, confirmed);
+        }
+
+        private static void copyWithGap(RentalIntervals source, long[] ids, int[] starts, int[] ends,
+                                        boolean[] confirmed, int gap) {
+            int n = source.bookingIds.length;
+            System.arraycopy(source.bookingIds, 0, ids, 0, gap);
+            System.arraycopy(source.bookingIds, gap, ids, gap + 1, n - gap);
+            System.arraycopy(source.startDays, 0, starts, 0, gap);
+            System.arraycopy(source.startDays, gap, starts, gap + 1, n - gap);
+            System.arraycopy(source.endDays, 0, ends, 0, gap);
+            System.arraycopy(source.endDays, gap, ends, gap + 1, n - gap);
+            System.arraycopy(source.confirmed, 0, confirmed, 0, gap);
+            System.arraycopy(source.confirmed, gap, confirmed, gap + 1, n - gap);
+        }
+    }
+}
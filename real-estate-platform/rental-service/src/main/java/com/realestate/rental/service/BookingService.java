@@ -1,27 +1,36 @@
 package com.realestate.rental.service;
 
+import com.realestate.rental.cache.PropertySnapshotCache;
 import com.realestate.rental.dto.BookingDTO;
+import com.realestate.rental.dto.BookingPageDTO;
 import com.realestate.rental.dto.BookingRequestDTO;
 import com.realestate.rental.exception.InvalidBookingException;
 import com.realestate.rental.exception.PropertyNotAvailableException;
 import com.realestate.rental.exception.ResourceNotFoundException;
-import com.realestate.rental.feign.PropertyServiceClient;
 import com.realestate.rental.model.Booking;
 import com.realestate.rental.model.Booking.BookingStatus;
 import com.realestate.rental.model.RentalProperty;
 import com.realestate.rental.repository.BookingRepository;
 import com.realestate.rental.repository.RentalPropertyRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -30,7 +39,11 @@ public class BookingService {
     
     private final BookingRepository bookingRepository;
     private final RentalPropertyRepository rentalPropertyRepository;
-    private final PropertyServiceClient propertyServiceClient;
+    private final PropertySnapshotCache propertySnapshotCache;
+    private final BookingAvailabilityIndex availabilityIndex;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
     
     @Transactional
     public BookingDTO createBooking(BookingRequestDTO request) {
@@ -58,7 +71,7 @@ public class BookingService {
             
             if (rentalProperty == null) {
                 // Get property details to create RentalProperty
-                Map<String, Object> property = propertyServiceClient.getPropertyById(request.getPropertyId());
+                Map<String, Object> property = propertySnapshotCache.getProperty(request.getPropertyId());
                 if (property == null) {
                     throw new ResourceNotFoundException("Property not found with ID: " + request.getPropertyId());
                 }
@@ -150,6 +163,7 @@ public class BookingService {
         booking.setSpecialRequests(request.getSpecialRequests());
         
         Booking saved = bookingRepository.save(booking);
+        availabilityIndex.recordAfterCommit(saved);
         log.info("Booking created with ID: {}", saved.getId());
         
         return enrichBookingDTO(BookingDTO.fromEntity(saved), rentalProperty);
@@ -179,6 +193,7 @@ public class BookingService {
         
         booking.setStatus(BookingStatus.CONFIRMED);
         Booking updated = bookingRepository.save(booking);
+        availabilityIndex.recordAfterCommit(updated);
         
         log.info("Booking confirmed: {}", bookingId);
         return BookingDTO.fromEntity(updated);
@@ -201,6 +216,7 @@ public class BookingService {
         
         booking.setStatus(BookingStatus.CANCELLED);
         Booking updated = bookingRepository.save(booking);
+        availabilityIndex.recordAfterCommit(updated);
         
         log.info("Booking cancelled: {}", bookingId);
         return BookingDTO.fromEntity(updated);
@@ -219,6 +235,7 @@ public class BookingService {
         
         booking.setStatus(BookingStatus.COMPLETED);
         Booking updated = bookingRepository.save(booking);
+        availabilityIndex.recordAfterCommit(updated);
         
         log.info("Booking completed: {}", bookingId);
         return BookingDTO.fromEntity(updated);
@@ -268,7 +285,81 @@ public class BookingService {
             .collect(Collectors.toList());
     }
     
+    /**
+     * Keyset page of bookings ordered by (startDate, id). The cursor returned with a page
+     * encodes its last row, and the next page reads idx_start_date_id from that row on,
+     * so its cost does not grow with depth the way an OFFSET does. The filters are checked
+     * on the rows read: a filter matching few bookings makes each page read further.
+     *
+     * @throws InvalidBookingException on an unknown scope or status or a malformed cursor (400)
+     */
+    public BookingPageDTO getBookingsPage(String scope, String status, String guestEmail, String cursor, int size) {
+        BookingFilter filter = BookingFilter.of(scope, status, guestEmail);
+        
+        // Une ligne de plus pour savoir s'il reste une page
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<Booking> rows;
+        if (cursor != null && !cursor.isEmpty()) {
+            CursorPosition position = decodeCursor(cursor);
+            rows = bookingRepository.findPageAfter(
+                filter.status(), filter.guestEmail(), filter.startFrom(), filter.startTo(), filter.endFrom(),
+                position.startDate(), position.id(), limit);
+        } else {
+            rows = bookingRepository.findFirstPage(
+                filter.status(), filter.guestEmail(), filter.startFrom(), filter.startTo(), filter.endFrom(), limit);
+        }
+        
+        boolean hasMore = rows.size() > size;
+        List<Booking> page = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            Booking last = page.get(page.size() - 1);
+            nextCursor = encodeCursor(last.getStartDate(), last.getId());
+        }
+        
+        return new BookingPageDTO(
+            page.stream().map(BookingDTO::fromEntity).collect(Collectors.toList()),
+            nextCursor,
+            hasMore);
+    }
+    
+    /**
+     * Checks the export filters up front, so a bad scope or status is answered with a 400
+     * before the streamed response is committed.
+     *
+     * @throws InvalidBookingException on an unknown scope or status
+     */
+    public void validateFilter(String scope, String status) {
+        BookingFilter.of(scope, status, null);
+    }
+    
+    /**
+     * Streams every matching booking to the consumer without holding the result set in memory.
+     * Rows are fetched in batches and detached once written.
+     */
+    @Transactional(readOnly = true)
+    public long exportBookings(String scope, String status, Consumer<BookingDTO> consumer) {
+        BookingFilter filter = BookingFilter.of(scope, status, null);
+        long count = 0;
+        try (Stream<Booking> bookings = bookingRepository.streamFiltered(
+                filter.status(), filter.guestEmail(), filter.startFrom(), filter.startTo(), filter.endFrom())) {
+            Iterator<Booking> iterator = bookings.iterator();
+            while (iterator.hasNext()) {
+                Booking booking = iterator.next();
+                consumer.accept(BookingDTO.fromEntity(booking));
+                entityManager.detach(booking);
+                count++;
+            }
+        }
+        log.info("Exported {} bookings (scope: {}, status: {})", count, scope, status);
+        return count;
+    }
+    
     public boolean checkAvailability(Long rentalPropertyId, LocalDate startDate, LocalDate endDate) {
+        // L'index en mémoire répond sans requête SQL une fois chargé
+        if (availabilityIndex.isReady()) {
+            return !availabilityIndex.hasConfirmedOverlap(rentalPropertyId, startDate, endDate);
+        }
         return !bookingRepository.existsOverlappingBooking(rentalPropertyId, startDate, endDate);
     }
     
@@ -277,41 +368,78 @@ public class BookingService {
      * Returns a list of date strings in format "YYYY-MM-DD"
      */
     public List<String> getBookedDatesByPropertyId(Long propertyId) {
-        log.info("Getting booked dates for property ID: {}", propertyId);
+        return getBookedDays(propertyId, null, null).toDateStrings();
+    }
+    
+    /**
+     * Booked days (PENDING and CONFIRMED bookings) of a property as merged ranges,
+     * optionally limited to [from, to]. Empty when the property is not rented.
+     */
+    public BookedDays getBookedDays(Long propertyId, LocalDate from, LocalDate to) {
+        log.debug("Getting booked days for property ID: {} ({} to {})", propertyId, from, to);
+        BookedDays.Builder builder = BookedDays.builder(from, to);
         
-        // Find RentalProperty by propertyId
         RentalProperty rentalProperty = rentalPropertyRepository.findByPropertyId(propertyId)
             .orElse(null);
-        
-        // If no RentalProperty exists, return empty list
         if (rentalProperty == null) {
-            log.info("No RentalProperty found for property ID: {}, returning empty booked dates", propertyId);
-            return List.of();
+            return builder.build();
         }
         
-        // Get all bookings (CONFIRMED and PENDING) for this rental property
-        List<Booking> bookings = bookingRepository.findByRentalPropertyId(rentalProperty.getId());
-        
-        // Generate list of all booked dates
-        List<String> bookedDates = bookings.stream()
-            .filter(booking -> booking.getStatus() == BookingStatus.CONFIRMED || 
-                             booking.getStatus() == BookingStatus.PENDING)
-            .flatMap(booking -> {
-                LocalDate current = booking.getStartDate();
-                LocalDate endDate = booking.getEndDate();
-                List<String> dates = new java.util.ArrayList<>();
-                while (!current.isAfter(endDate)) {
-                    dates.add(current.toString());
-                    current = current.plusDays(1);
+        if (availabilityIndex.isReady()) {
+            availabilityIndex.forEachActiveInterval(rentalProperty.getId(), builder::add);
+        } else {
+            for (Object[] period : bookingRepository.findActivePeriods(rentalProperty.getId(), from, to)) {
+                builder.add((LocalDate) period[0], (LocalDate) period[1]);
+            }
+        }
+        return builder.build();
+    }
+    
+    // Filtres des listes paginées et de l'export
+    private record BookingFilter(BookingStatus status, String guestEmail,
+                                 LocalDate startFrom, LocalDate startTo, LocalDate endFrom) {
+        
+        static BookingFilter of(String scope, String status, String guestEmail) {
+            BookingStatus bookingStatus = null;
+            if (status != null && !status.isEmpty()) {
+                try {
+                    bookingStatus = BookingStatus.valueOf(status.toUpperCase());
+                } catch (IllegalArgumentException e) {
+                    throw new InvalidBookingException("Unknown booking status: " + status);
                 }
-                return dates.stream();
-            })
-            .distinct()
-            .sorted()
-            .collect(Collectors.toList());
-        
-        log.info("Found {} booked dates for property ID: {}", bookedDates.size(), propertyId);
-        return bookedDates;
+            }
+            LocalDate today = LocalDate.now();
+            
+            switch (scope == null ? "ALL" : scope.toUpperCase()) {
+                case "ALL":
+                    return new BookingFilter(bookingStatus, guestEmail, null, null, null);
+                case "UPCOMING":
+                    // Même périmètre que findUpcomingBookings
+                    return new BookingFilter(BookingStatus.CONFIRMED, guestEmail, today, null, null);
+                case "ACTIVE":
+                    // Même périmètre que findActiveBookings
+                    return new BookingFilter(BookingStatus.CONFIRMED, guestEmail, null, today, today);
+                default:
+                    throw new InvalidBookingException("Unknown booking scope: " + scope);
+            }
+        }
+    }
+    
+    private static String encodeCursor(LocalDate startDate, Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString((startDate + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private record CursorPosition(LocalDate startDate, Long id) {
+    }
+    
+    private static CursorPosition decodeCursor(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            return new CursorPosition(LocalDate.parse(parts[0]), Long.valueOf(parts[1]));
+        } catch (RuntimeException e) {
+            throw new InvalidBookingException("Invalid cursor: " + cursor);
+        }
     }
     
     // Méthodes privées de validation et calcul
@@ -1,10 +1,10 @@
 package com.realestate.rental.service;
 
+import com.realestate.rental.cache.PropertySnapshotCache;
 import com.realestate.rental.dto.CalendarDTO;
 import com.realestate.rental.dto.RentalPropertyDTO;
 import com.realestate.rental.exception.InvalidBookingException;
 import com.realestate.rental.exception.ResourceNotFoundException;
-import com.realestate.rental.feign.PropertyServiceClient;
 import com.realestate.rental.model.Booking;
 import com.realestate.rental.model.Booking.BookingStatus;
 import com.realestate.rental.model.RentalProperty;
@@ -18,10 +18,10 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.YearMonth;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,9 +29,13 @@ import java.util.stream.Collectors;
 @Slf4j
 public class RentalPropertyService {
     
+    // Nombre d'IDs par appel à /api/properties/batch
+    private static final int PROPERTY_BATCH_SIZE = 100;
+    
     private final RentalPropertyRepository rentalPropertyRepository;
     private final BookingRepository bookingRepository;
-    private final PropertyServiceClient propertyServiceClient;
+    private final PropertySnapshotCache propertySnapshotCache;
+    private final BookingAvailabilityIndex availabilityIndex;
     
     @Transactional
     public RentalPropertyDTO createRentalProperty(RentalProperty rentalProperty) {
@@ -39,7 +43,7 @@ public class RentalPropertyService {
         
         // Vérifier si la propriété existe via Feign
         try {
-            Map<String, Object> property = propertyServiceClient.getPropertyById(rentalProperty.getPropertyId());
+            Map<String, Object> property = propertySnapshotCache.getProperty(rentalProperty.getPropertyId());
             if (property == null) {
                 throw new ResourceNotFoundException("Property not found with ID: " + rentalProperty.getPropertyId());
             }
@@ -108,10 +112,9 @@ public class RentalPropertyService {
     
     public List<RentalPropertyDTO> getAllActiveRentals() {
         List<RentalProperty> rentals = rentalPropertyRepository.findByIsActiveTrue();
-        return rentals.stream()
+        return enrichWithPropertyDetails(rentals.stream()
             .map(RentalPropertyDTO::fromEntity)
-            .map(this::enrichWithPropertyDetails)
-            .collect(Collectors.toList());
+            .collect(Collectors.toList()));
     }
     
     public List<RentalPropertyDTO> searchAvailableRentals(
@@ -129,52 +132,50 @@ public class RentalPropertyService {
         
         // Filtrer par disponibilité si des dates sont fournies
         if (startDate != null && endDate != null) {
-            rentals = rentals.stream()
-                .filter(rental -> !bookingRepository.existsOverlappingBooking(
-                    rental.getId(), startDate, endDate))
-                .collect(Collectors.toList());
+            if (availabilityIndex.isReady()) {
+                rentals = rentals.stream()
+                    .filter(rental -> !availabilityIndex.hasConfirmedOverlap(
+                        rental.getId(), startDate, endDate))
+                    .collect(Collectors.toList());
+            } else {
+                // Une requête par lot d'IDs au lieu d'une requête par bien
+                Set<Long> unavailableIds = bookingRepository.findRentalPropertyIdsWithOverlappingBookingChunked(
+                    rentals.stream().map(RentalProperty::getId).collect(Collectors.toList()), startDate, endDate);
+                rentals = rentals.stream()
+                    .filter(rental -> !unavailableIds.contains(rental.getId()))
+                    .collect(Collectors.toList());
+            }
         }
         
-        return rentals.stream()
+        return enrichWithPropertyDetails(rentals.stream()
             .map(RentalPropertyDTO::fromEntity)
-            .map(this::enrichWithPropertyDetails)
-            .collect(Collectors.toList());
+            .collect(Collectors.toList()));
     }
     
     public CalendarDTO getAvailabilityCalendar(Long rentalPropertyId, int year, int month) {
-        log.info("Getting availability calendar for rental property ID: {}, year: {}, month: {}", 
-            rentalPropertyId, year, month);
-        
-        RentalProperty rentalProperty = rentalPropertyRepository.findById(rentalPropertyId)
-            .orElseThrow(() -> new ResourceNotFoundException("Rental property not found with ID: " + rentalPropertyId));
+        return getAvailabilityCalendars(rentalPropertyId, year, month, 1).get(0);
+    }
+    
+    /**
+     * Calendars of consecutive months starting at year/month, built from a single
+     * findConfirmedBookingsInPeriod query over the whole range.
+     */
+    public List<CalendarDTO> getAvailabilityCalendars(Long rentalPropertyId, int year, int month, int months) {
+        log.info("Getting availability calendar for rental property ID: {}, year: {}, month: {}, months: {}", 
+            rentalPropertyId, year, month, months);
+        
+        if (!rentalPropertyRepository.existsById(rentalPropertyId)) {
+            throw new ResourceNotFoundException("Rental property not found with ID: " + rentalPropertyId);
+        }
         
-        YearMonth yearMonth = YearMonth.of(year, month);
-        LocalDate startDate = yearMonth.atDay(1);
-        LocalDate endDate = yearMonth.atEndOfMonth();
+        YearMonth firstMonth = YearMonth.of(year, month);
+        LocalDate startDate = firstMonth.atDay(1);
+        LocalDate endDate = firstMonth.plusMonths(months - 1).atEndOfMonth();
         
         List<Booking> bookings = bookingRepository.findConfirmedBookingsInPeriod(
             rentalPropertyId, startDate, endDate);
         
-        List<LocalDate> blockedDates = new ArrayList<>();
-        Map<LocalDate, CalendarDTO.BookingInfo> bookingInfoMap = new HashMap<>();
-        
-        for (Booking booking : bookings) {
-            LocalDate current = booking.getStartDate();
-            while (!current.isAfter(booking.getEndDate())) {
-                if (!current.isBefore(startDate) && !current.isAfter(endDate)) {
-                    blockedDates.add(current);
-                    bookingInfoMap.put(current, new CalendarDTO.BookingInfo(
-                        booking.getId(),
-                        booking.getGuestName(),
-                        booking.getStartDate(),
-                        booking.getEndDate()
-                    ));
-                }
-                current = current.plusDays(1);
-            }
-        }
-        
-        return new CalendarDTO(rentalPropertyId, year, month, blockedDates, bookingInfoMap);
+        return AvailabilityCalendarBuilder.build(rentalPropertyId, firstMonth, months, bookings);
     }
     
     public Map<String, Object> getStatistics() {
@@ -200,20 +201,43 @@ public class RentalPropertyService {
     // Méthode pour enrichir le DTO avec les détails de la propriété
     private RentalPropertyDTO enrichWithPropertyDetails(RentalPropertyDTO dto) {
         try {
-            Map<String, Object> property = propertyServiceClient.getPropertyById(dto.getPropertyId());
+            Map<String, Object> property = propertySnapshotCache.getProperty(dto.getPropertyId());
             if (property != null) {
-                dto.setPropertyTitle((String) property.get("title"));
-                dto.setPropertyCity((String) property.get("city"));
-                dto.setPropertyType((String) property.get("type"));
-                dto.setPropertyRooms((Integer) property.get("rooms"));
-                dto.setPropertyBathrooms((Integer) property.get("bathrooms"));
-                dto.setPropertySurface((Integer) property.get("surface"));
-                dto.setPropertyAddress((String) property.get("address"));
+                applyPropertyDetails(dto, property);
             }
         } catch (Exception e) {
             log.warn("Could not fetch property details for property ID: {}", dto.getPropertyId(), e);
         }
         return dto;
     }
+    
+    // Enrichissement d'une liste : un appel au property-service par lot d'IDs au lieu d'un par bien
+    private List<RentalPropertyDTO> enrichWithPropertyDetails(List<RentalPropertyDTO> dtos) {
+        List<Long> propertyIds = dtos.stream()
+            .map(RentalPropertyDTO::getPropertyId)
+            .distinct()
+            .collect(Collectors.toList());
+        
+        Map<Long, Map<String, Object>> propertiesById =
+            propertySnapshotCache.getProperties(propertyIds, PROPERTY_BATCH_SIZE);
+        
+        for (RentalPropertyDTO dto : dtos) {
+            Map<String, Object> property = propertiesById.get(dto.getPropertyId());
+            if (property != null) {
+                applyPropertyDetails(dto, property);
+            }
+        }
+        return dtos;
+    }
+    
+    private void applyPropertyDetails(RentalPropertyDTO dto, Map<String, Object> property) {
+        dto.setPropertyTitle((String) property.get("title"));
+        dto.setPropertyCity((String) property.get("city"));
+        dto.setPropertyType((String) property.get("type"));
+        dto.setPropertyRooms((Integer) property.get("rooms"));
+        dto.setPropertyBathrooms((Integer) property.get("bathrooms"));
+        dto.setPropertySurface((Integer) property.get("surface"));
+        dto.setPropertyAddress((String) property.get("address"));
+    }
 }
 
@@ -0,0 +1,54 @@
+package com.realestate.rental.tracing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Puts the trace id and sampling decision made by the gateway (X-Trace-Id,
+ * X-Trace-Sampled) into the MDC for the duration of the request. Requests that did
+ * not come through the gateway get their own trace id, sampled at tracing.sample-rate.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TraceContextFilter extends OncePerRequestFilter {
+
+    @Value("${tracing.sample-rate:0.01}")
+    private double sampleRate;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String traceId = request.getHeader(TraceContext.TRACE_ID_HEADER);
+        boolean sampled;
+        if (traceId != null && !traceId.isEmpty()) {
+            sampled = "1".equals(request.getHeader(TraceContext.SAMPLED_HEADER));
+        } else {
+            traceId = UUID.randomUUID().toString().replace("-", "");
+            sampled = sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+        }
+
+        MDC.put(TraceContext.TRACE_ID_KEY, traceId);
+        if (sampled) {
+            MDC.put(TraceContext.SAMPLED_KEY, "1");
+        }
+        response.setHeader(TraceContext.TRACE_ID_HEADER, traceId);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            MDC.remove(TraceContext.TRACE_ID_KEY);
+            MDC.remove(TraceContext.SAMPLED_KEY);
+        }
+    }
+}
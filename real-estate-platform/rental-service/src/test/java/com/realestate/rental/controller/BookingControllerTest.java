@@ -0,0 +1,78 @@
+package com.realestate.rental.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.realestate.rental.dto.BookingPageDTO;
+import com.realestate.rental.service.BookingService;
+import com.realestate.rental.util.RoleChecker;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BookingControllerTest {
+    
+    private final BookingService bookingService = mock(BookingService.class);
+    private final BookingController controller =
+            new BookingController(bookingService, new RoleChecker(), new ObjectMapper());
+    
+    @Test
+    void clientWithoutEmailIsForbiddenFromBookingsPage() {
+        MockHttpServletRequest request = request("ROLE_CLIENT", null);
+        
+        assertThatThrownBy(() -> controller.getBookingsPage("ALL", null, null, 50, request))
+                .isInstanceOf(SecurityException.class);
+        verify(bookingService, never()).getBookingsPage(any(), any(), any(), any(), anyInt());
+    }
+    
+    @Test
+    void clientWithBlankEmailIsForbiddenFromBookingsPage() {
+        MockHttpServletRequest request = request("ROLE_CLIENT", "  ");
+        
+        assertThatThrownBy(() -> controller.getBookingsPage("ALL", null, null, 50, request))
+                .isInstanceOf(SecurityException.class);
+        verify(bookingService, never()).getBookingsPage(any(), any(), any(), any(), anyInt());
+    }
+    
+    @Test
+    void clientBookingsPageIsFilteredByTheirEmail() {
+        BookingPageDTO page = new BookingPageDTO();
+        when(bookingService.getBookingsPage("ALL", null, "guest@example.com", null, 50)).thenReturn(page);
+        
+        assertThat(controller.getBookingsPage("ALL", null, null, 50, request("ROLE_CLIENT", "guest@example.com")).getBody())
+                .isSameAs(page);
+    }
+    
+    @Test
+    void agentBookingsPageIsNotFilteredByEmail() {
+        controller.getBookingsPage("ALL", null, null, 50, request("ROLE_AGENT", null));
+        
+        verify(bookingService).getBookingsPage(eq("ALL"), isNull(), isNull(), isNull(), eq(50));
+    }
+    
+    @Test
+    void unknownRoleIsForbiddenRatherThanTreatedAsAgent() {
+        MockHttpServletRequest request = request("ROLE_SUPERUSER", "guest@example.com");
+        
+        assertThatThrownBy(() -> controller.getBookingsPage("ALL", null, null, 50, request))
+                .isInstanceOf(SecurityException.class);
+        verify(bookingService, never()).getBookingsPage(any(), any(), any(), any(), anyInt());
+    }
+    
+    private static MockHttpServletRequest request(String role, String email) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/bookings/page");
+        request.addHeader("X-User-Role", role);
+        if (email != null) {
+            request.addHeader("X-User-Email", email);
+        }
+        return request;
+    }
+}
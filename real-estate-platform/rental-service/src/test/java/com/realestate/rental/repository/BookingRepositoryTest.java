@@ -0,0 +1,88 @@
+package com.realestate.rental.repository;
+
+import com.realestate.rental.model.Booking;
+import com.realestate.rental.model.Booking.BookingStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@TestPropertySource(properties = "spring.cloud.config.enabled=false")
+class BookingRepositoryTest {
+    
+    private static final LocalDate START = LocalDate.of(2030, 6, 10);
+    private static final LocalDate END = LocalDate.of(2030, 6, 15);
+    
+    // Repository slice only: the application class also enables Feign clients
+    @SpringBootConfiguration
+    @EntityScan(basePackageClasses = Booking.class)
+    @EnableJpaRepositories(basePackageClasses = BookingRepository.class)
+    static class JpaSliceConfig {
+    }
+    
+    @Autowired
+    private BookingRepository bookingRepository;
+    
+    @Test
+    void chunkedOverlapQueryMatchesPerRentalCheckAcrossChunkBoundaries() {
+        int rentals = 2 * BookingRepository.OVERLAP_QUERY_CHUNK_SIZE + 500;
+        Set<Long> expected = new HashSet<>();
+        List<Booking> bookings = new ArrayList<>();
+        for (long rentalId = 1; rentalId <= rentals; rentalId++) {
+            // Rentals at both sides of each chunk boundary are booked
+            boolean atBoundary = rentalId % BookingRepository.OVERLAP_QUERY_CHUNK_SIZE <= 1;
+            if (rentalId % 7 == 0 || atBoundary) {
+                bookings.add(booking(rentalId, START.minusDays(2), START, BookingStatus.CONFIRMED));
+                expected.add(rentalId);
+            }
+            if (rentalId % 5 == 0) {
+                bookings.add(booking(rentalId, START, END, BookingStatus.CANCELLED));
+            }
+            if (rentalId % 3 == 0) {
+                bookings.add(booking(rentalId, END.plusDays(1), END.plusDays(4), BookingStatus.CONFIRMED));
+            }
+        }
+        bookingRepository.saveAll(bookings);
+        
+        List<Long> rentalIds = LongStream.rangeClosed(1, rentals).boxed().collect(Collectors.toList());
+        Set<Long> chunked = bookingRepository.findRentalPropertyIdsWithOverlappingBookingChunked(rentalIds, START, END);
+        
+        assertThat(chunked).isEqualTo(expected);
+        assertThat(chunked).contains(
+                (long) BookingRepository.OVERLAP_QUERY_CHUNK_SIZE,
+                (long) BookingRepository.OVERLAP_QUERY_CHUNK_SIZE + 1);
+        for (long rentalId : List.of(999L, 1000L, 1001L, 1002L, 2000L, 2001L)) {
+            assertThat(chunked.contains(rentalId))
+                    .as("rental %d", rentalId)
+                    .isEqualTo(bookingRepository.existsOverlappingBooking(rentalId, START, END));
+        }
+    }
+    
+    private static Booking booking(Long rentalId, LocalDate startDate, LocalDate endDate, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setRentalPropertyId(rentalId);
+        booking.setStartDate(startDate);
+        booking.setEndDate(endDate);
+        booking.setNumberOfGuests(2);
+        booking.setTotalPrice(BigDecimal.valueOf(500));
+        booking.setStatus(status);
+        booking.setGuestName("Guest " + rentalId);
+        booking.setGuestEmail("guest" + rentalId + "@example.com");
+        return booking;
+    }
+}
@@ -40,6 +40,7 @@ CREATE TABLE IF NOT EXISTS bookings (
     FOREIGN KEY (rental_property_id) REFERENCES rental_properties(id),
     INDEX idx_rental_property (rental_property_id),
     INDEX idx_dates (start_date, end_date),
+    INDEX idx_start_date_id (start_date, id),
     INDEX idx_status (status),
     INDEX idx_guest_email (guest_email)
 );